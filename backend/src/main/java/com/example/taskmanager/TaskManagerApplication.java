@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @OpenAPIDefinition(
@@ -35,6 +36,7 @@ import org.springframework.context.annotation.Configuration;
     description = "Enter JWT token"
 )
 @Configuration
+@EnableScheduling
 public class TaskManagerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,47 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the hit, miss and put counts of each second-level cache region,
+ * read from Hibernate statistics, as hibernate.cache.requests{region, result}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class HibernateCacheMetrics {
+
+    // Must match the regions configured in hibernate-cache.conf
+    static final List<String> REGIONS = List.of("user");
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            register(meterRegistry, statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            register(meterRegistry, statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            register(meterRegistry, statistics, region, "put", CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, Statistics statistics, String region, String result,
+                                 ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.cache.requests", statistics, s -> count(s, region, count))
+                .tag("region", region)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double count(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+    }
+}
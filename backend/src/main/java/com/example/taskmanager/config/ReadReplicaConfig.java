@@ -0,0 +1,108 @@
+package com.example.taskmanager.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single connection pool with a primary pool plus one pool per
+ * replica URL. Physical connections are fetched lazily, once the transaction's
+ * read-only flag is known: read-only transactions go through
+ * {@link ReplicaRoutingDataSource}, everything else (writes, Flyway, the
+ * scheduled jobs) gets the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * The spring.datasource.hikari settings Boot would have applied to its single
+     * pool, copied onto every pool created here.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig hikariSettings() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariConfig hikariSettings,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String replicaUsername,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String replicaPassword,
+            @Value("${app.datasource.replicas.pool-size:10}") int replicaPoolSize,
+            @Value("${app.datasource.replicas.connection-timeout:2s}") Duration replicaConnectionTimeout,
+            @Value("${app.datasource.replicas.selection:round-robin}") String selection,
+            @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool(hikariSettings, "primary", url, username, password, meterRegistry);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            if (replicaUrl.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = pool(hikariSettings, "replica-" + replicas.size(), replicaUrl.trim(),
+                    replicaUsername, replicaPassword, meterRegistry);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            // Fail over to the primary quickly instead of waiting out the default 30s
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled is set but no replica URL is configured");
+        }
+        return new ReplicaRoutingDataSource(primary, replicas,
+                ReplicaRoutingDataSource.Selection.from(selection), maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(replicaRoutingDataSource.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        // Known up front, so the proxy never opens a connection just to read them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(
+            @Value("${app.datasource.replicas.read-your-writes:5s}") Duration window) {
+        return new ReadYourWritesInterceptor(window);
+    }
+
+    private static HikariDataSource pool(HikariConfig settings, String name, String url, String username,
+                                         String password, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        settings.copyStateTo(pool);
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        // These pools are not beans, so Boot's pool metrics would not see them
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Pins a request's read-only transactions to the primary when it writes, or
+ * when its user wrote within the read-your-writes window, so a replica that
+ * has not replayed the write yet can't hide it from them. Writes are tracked
+ * per instance; without sticky sessions another instance may still serve the
+ * user's next read from a replica.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    // Above this many tracked users, expired entries are dropped on the next write
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean purging = new AtomicBoolean();
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesInterceptor(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = currentUserId();
+        long now = nanoClock.getAsLong();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Recorded before the write starts, so the window always covers its commit
+            if (userId != null) {
+                recordWrite(userId, now);
+            }
+            ReplicaRoutingDataSource.pinPrimary();
+        } else if (userId != null && wroteRecently(userId, now)) {
+            ReplicaRoutingDataSource.pinPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    boolean wroteRecently(Long userId, long now) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && now - writtenAt < windowNanos;
+    }
+
+    private void recordWrite(Long userId, long now) {
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > PURGE_THRESHOLD && purging.compareAndSet(false, true)) {
+            try {
+                lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+            } finally {
+                purging.set(false);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Long userId ? userId : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the connection for a read-only transaction: a replica chosen round-robin
+ * or by fewest active connections, or the primary when the current thread is
+ * pinned to it (see {@link #pinPrimary()}) or no replica is available. A replica
+ * that refuses a connection, or lags more than max-lag, is skipped until the
+ * next health check finds it caught up.
+ *
+ * Not an AbstractRoutingDataSource: a refused replica connection falls back to
+ * the primary within the same call, which a lookup key can't express.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    // Seconds the replica is behind; 0 when it has replayed everything it received or is not a standby
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_CONNECTIONS;
+
+        public static Selection from(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "round-robin" -> ROUND_ROBIN;
+                case "least-connections" -> LEAST_CONNECTIONS;
+                default -> throw new IllegalArgumentException("Unknown replica selection: " + value);
+            };
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Selection selection;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaPools, Selection selection,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.selection = selection;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.primaryReads = Counter.builder("db.read.connections").tag("target", PRIMARY).register(meterRegistry);
+        for (int i = 0; i < replicaPools.size(); i++) {
+            replicas.add(new Replica("replica-" + i, replicaPools.get(i), meterRegistry));
+        }
+    }
+
+    /**
+     * Sends the current thread's read-only transactions to the primary until
+     * {@link #unpin()}, for reads that must see a write just made.
+     */
+    public static void pinPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    List<DataSource> getReplicas() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            primaryReads.increment();
+            return source.connect(primary);
+        }
+        try {
+            Connection connection = source.connect(replica.dataSource);
+            replica.reads.increment();
+            return connection;
+        } catch (SQLException e) {
+            markUnavailable(replica, e.getMessage());
+            primaryReads.increment();
+            return source.connect(primary);
+        }
+    }
+
+    private Replica route() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get()) ? null : choose();
+    }
+
+    private Replica choose() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        // Both strategies start from a rotating offset so ties spread evenly
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica chosen = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return replica;
+            }
+            int active = activeConnections(replica.dataSource);
+            if (active < fewest) {
+                chosen = replica;
+                fewest = active;
+            }
+        }
+        return chosen;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pool) {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean == null ? 0 : bean.getActiveConnections();
+        }
+        return 0;
+    }
+
+    /**
+     * Measures each replica's replay lag and updates whether reads may use it.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_SQL);
+                 ResultSet result = statement.executeQuery()) {
+                result.next();
+                replica.lagSeconds = result.getDouble(1);
+            } catch (SQLException e) {
+                markUnavailable(replica, e.getMessage());
+                continue;
+            }
+            if (replica.lagSeconds > maxLagSeconds) {
+                markUnavailable(replica, "lagging " + replica.lagSeconds + "s");
+            } else if (!replica.available) {
+                replica.available = true;
+                log.info("Replica {} is back in rotation", replica.name);
+            }
+        }
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        closePool(primary);
+        replicas.forEach(replica -> closePool(replica.dataSource));
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof Closeable pool) {
+            try {
+                pool.close();
+            } catch (Exception e) {
+                log.warn("Failed to close connection pool", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean available = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = Counter.builder("db.read.connections").tag("target", name).register(meterRegistry);
+            Gauge.builder("db.replica.lag", this, r -> r.lagSeconds)
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", this, r -> r.available ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+    }
+}
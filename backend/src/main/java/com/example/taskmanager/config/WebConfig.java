@@ -1,18 +1,33 @@
 package com.example.taskmanager.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Only present when read replicas are enabled
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    public WebConfig(ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor) {
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        readYourWritesInterceptor.ifAvailable(registry::addInterceptor);
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.dtos.BulkProvisionResponse;
+import com.example.taskmanager.dtos.ProvisionUserRequest;
+import com.example.taskmanager.exceptions.UnauthorizedException;
+import com.example.taskmanager.services.UserProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Tag(name = "Administration", description = "Administrative endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    @Value("${app.admin.provisioning.token:}")
+    private String provisioningToken;
+
+    @Value("${app.admin.provisioning.max-rows:100000}")
+    private int maxRows;
+
+    @PostMapping("/users/bulk")
+    @Operation(summary = "Bulk provision users",
+            description = "Create many users in one call; returns a result for every row")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed",
+                    content = @Content(schema = @Schema(implementation = BulkProvisionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many rows"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid provisioning token")
+    })
+    public ResponseEntity<BulkProvisionResponse> provisionUsers(
+            @RequestHeader(value = "X-Provisioning-Token", required = false) String token,
+            @RequestBody List<ProvisionUserRequest> users) {
+        if (!StringUtils.hasText(provisioningToken) || token == null
+                || !MessageDigest.isEqual(provisioningToken.getBytes(StandardCharsets.UTF_8),
+                                          token.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("Invalid provisioning token");
+        }
+        if (users.size() > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxRows + " users per import");
+        }
+        return ResponseEntity.ok(userProvisioningService.provisionUsers(users));
+    }
+}
@@ -3,18 +3,22 @@ package com.example.taskmanager.controllers;
 import com.example.taskmanager.dtos.AuthLoginRequest;
 import com.example.taskmanager.dtos.AuthLoginResponse;
 import com.example.taskmanager.dtos.AuthRegisterRequest;
+import com.example.taskmanager.dtos.RefreshTokenRequest;
+import com.example.taskmanager.security.LoginRateLimiter;
 import com.example.taskmanager.services.AuthService;
+import com.example.taskmanager.services.PasswordHashingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,7 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
@@ -32,9 +37,12 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = AuthLoginResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Validation error")
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts")
     })
-    public ResponseEntity<AuthLoginResponse> login(@Valid @RequestBody AuthLoginRequest request) {
+    public ResponseEntity<AuthLoginResponse> login(@Valid @RequestBody AuthLoginRequest request,
+                                                   HttpServletRequest httpRequest) {
+        loginRateLimiter.checkLogin(request.getEmail(), httpRequest.getRemoteAddr());
         AuthLoginResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
@@ -52,8 +60,35 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchange a refresh token for a new access and refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = AuthLoginResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public ResponseEntity<AuthLoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revoke the presented access token and optional refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked (or were already invalid)")
+    })
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String token = StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(token, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/hash")
     public ResponseEntity<String> getHash(@RequestParam String password) {
-        return ResponseEntity.ok("Hash for '" + password + "': " + passwordEncoder.encode(password));
+        return ResponseEntity.ok("Hash for '" + password + "': " + passwordHashingService.encode(password));
     }
 }
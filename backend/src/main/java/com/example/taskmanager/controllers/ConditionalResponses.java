@@ -0,0 +1,37 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.services.ETags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses for conditional GETs. Tagged responses are marked private and
+ * no-cache, so browsers keep them but revalidate with If-None-Match every time
+ * instead of following Spring Security's default no-store.
+ */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static boolean notModified(String ifNoneMatch, String etag) {
+        return ETags.noneMatchHits(ifNoneMatch, etag);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(body);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.taskmanager.controllers;
 
 import com.example.taskmanager.dtos.CreateProjectRequest;
+import com.example.taskmanager.dtos.CursorPage;
+import com.example.taskmanager.dtos.ProgressDTO;
 import com.example.taskmanager.dtos.ProjectDTO;
+import com.example.taskmanager.exceptions.BadRequestException;
+import com.example.taskmanager.services.ETags;
 import com.example.taskmanager.services.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +19,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/projects")
 @RequiredArgsConstructor
@@ -27,6 +35,8 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "Bearer Authentication")
 public class ProjectController {
 
+    private static final int MAX_PROGRESS_IDS = 500;
+
     private final ProjectService projectService;
 
     @PostMapping
@@ -49,16 +59,60 @@ public class ProjectController {
     @Operation(summary = "Get user projects", description = "Retrieve paginated list of user's projects")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projects retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "No project changed since the If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<Page<ProjectDTO>> getUserProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeProgress,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        Pageable pageable = PageRequest.of(page, size);
-        Page<ProjectDTO> projects = projectService.getUserProjects(userId, pageable);
-        return ResponseEntity.ok(projects);
+        String etag = projectService.getProjectListTag(userId);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModified(etag);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt", "id"));
+        Page<ProjectDTO> projects = projectService.getUserProjects(userId, pageable, includeProgress);
+        return ConditionalResponses.ok(etag, projects);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get user projects by cursor",
+            description = "Keyset-paginated projects in creation order. Send an empty cursor for the first page, " +
+                    "then the returned nextCursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projects retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CursorPage<ProjectDTO>> getUserProjectsByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeProgress,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(projectService.getUserProjects(userId, cursor, size, includeProgress));
+    }
+
+    @GetMapping("/progress")
+    @Operation(summary = "Get progress for many projects",
+            description = "Progress for the given project IDs, or for all of the user's projects when none are given. " +
+                    "IDs that do not exist or belong to another user are omitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many project IDs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<List<ProgressDTO>> getProjectsProgress(
+            @RequestParam(required = false) List<Long> ids,
+            Authentication authentication) {
+        if (ids != null && ids.size() > MAX_PROGRESS_IDS) {
+            throw new BadRequestException("At most " + MAX_PROGRESS_IDS + " project IDs per request");
+        }
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(projectService.getProjectsProgress(userId, ids));
     }
 
     @GetMapping("/{id}")
@@ -66,15 +120,23 @@ public class ProjectController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Project retrieved successfully",
                     content = @Content(schema = @Schema(implementation = ProjectDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Project unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     public ResponseEntity<ProjectDTO> getProjectById(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
+        if (ifNoneMatch != null) {
+            String etag = projectService.getProjectTag(id, userId);
+            if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+        }
         ProjectDTO project = projectService.getProjectById(id, userId);
-        return ResponseEntity.ok(project);
+        return ConditionalResponses.ok(ETags.project(project.getId(), project.getUpdatedAt()), project);
     }
 
     @PutMapping("/{id}")
@@ -84,15 +146,19 @@ public class ProjectController {
                     content = @Content(schema = @Schema(implementation = ProjectDTO.class))),
             @ApiResponse(responseCode = "400", description = "Validation error"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Project not found")
+            @ApiResponse(responseCode = "404", description = "Project not found"),
+            @ApiResponse(responseCode = "412", description = "Project changed since the If-Match ETag")
     })
     public ResponseEntity<ProjectDTO> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody CreateProjectRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        ProjectDTO project = projectService.updateProject(id, userId, request);
-        return ResponseEntity.ok(project);
+        ProjectDTO project = projectService.updateProject(id, userId, request, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ETags.project(project.getId(), project.getUpdatedAt()))
+                .body(project);
     }
 
     @DeleteMapping("/{id}")
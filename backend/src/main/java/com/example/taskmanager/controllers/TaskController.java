@@ -1,8 +1,17 @@
 package com.example.taskmanager.controllers;
 
+import com.example.taskmanager.dtos.BulkTaskRequest;
+import com.example.taskmanager.dtos.BulkTaskResponse;
 import com.example.taskmanager.dtos.CreateTaskRequest;
+import com.example.taskmanager.dtos.CreateTasksRequest;
+import com.example.taskmanager.dtos.CursorPage;
 import com.example.taskmanager.dtos.ProgressDTO;
+import com.example.taskmanager.dtos.SlicePage;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.dtos.TaskSearchMode;
+import com.example.taskmanager.exceptions.BadRequestException;
+import com.example.taskmanager.services.ETags;
 import com.example.taskmanager.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,11 +25,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/projects/{projectId}/tasks")
 @RequiredArgsConstructor
@@ -28,6 +42,9 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "Bearer Authentication")
 public class TaskController {
 
+    private static final int MAX_SIMILAR_RESULTS = 20;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final TaskService taskService;
 
     @PostMapping
@@ -48,58 +65,280 @@ public class TaskController {
         return new ResponseEntity<>(task, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create tasks in bulk",
+            description = "Create up to 5000 tasks in a project in one transaction; either all are created or none")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tasks created successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<List<TaskDTO>> createTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody CreateTasksRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        List<TaskDTO> tasks = taskService.createTasks(projectId, userId, request.getTasks());
+        return new ResponseEntity<>(tasks, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/bulk/complete")
+    @Operation(summary = "Complete tasks in bulk",
+            description = "Mark the selected tasks completed; already completed tasks are not counted. Select tasks with taskIds or a filter; runs as one statement without loading tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks affected"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<BulkTaskResponse> bulkCompleteTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.bulkCompleteTasks(projectId, userId, request));
+    }
+
+    @PostMapping("/bulk/reopen")
+    @Operation(summary = "Reopen tasks in bulk",
+            description = "Mark the selected tasks not completed; open tasks are not counted. Select tasks with taskIds or a filter; runs as one statement without loading tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks affected"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<BulkTaskResponse> bulkReopenTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.bulkReopenTasks(projectId, userId, request));
+    }
+
+    @PostMapping("/bulk/move")
+    @Operation(summary = "Move tasks in bulk",
+            description = "Move the selected tasks to targetProjectId, another project of the same user. Select tasks with taskIds or a filter; runs as one statement without loading tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks affected"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project or target project not found")
+    })
+    public ResponseEntity<BulkTaskResponse> bulkMoveTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.bulkMoveTasks(projectId, userId, request));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete tasks in bulk",
+            description = "Delete the selected tasks. Select tasks with taskIds or a filter; runs as one statement without loading tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks affected"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<BulkTaskResponse> bulkDeleteTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.bulkDeleteTasks(projectId, userId, request));
+    }
+
     @GetMapping
-    @Operation(summary = "Get project tasks", description = "Retrieve paginated list of tasks in a project")
+    @Operation(summary = "Get project tasks",
+            description = "Retrieve paginated list of tasks in a project. fields=title,dueDate returns only " +
+                    "those fields (plus id); view=summary returns id, title, dueDate and isCompleted.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "No task in the project changed since the If-None-Match ETag"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or view"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
-    public ResponseEntity<Page<TaskDTO>> getProjectTasks(
+    public ResponseEntity<Page<?>> getProjectTasks(
             @PathVariable Long projectId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        Pageable pageable = PageRequest.of(page, size);
-        Page<TaskDTO> tasks = taskService.getProjectTasks(projectId, userId, pageable);
-        return ResponseEntity.ok(tasks);
+        Set<TaskField> selected = TaskField.select(fields, view);
+        String etag = taskService.getTaskListTag(projectId, userId);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModified(etag);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt", "id"));
+        Page<?> tasks = selected == null
+                ? taskService.getProjectTasks(projectId, userId, pageable)
+                : taskService.getProjectTasks(projectId, userId, selected, pageable);
+        return ConditionalResponses.ok(etag, tasks);
+    }
+
+    @GetMapping(params = {"count=false", "!cursor"})
+    @Operation(summary = "Get project tasks without a count",
+            description = "Offset page that skips the COUNT query and reports hasNext instead. " +
+                    "includeTotal=true adds the total from the project's task counter at no scan cost.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<SlicePage<TaskDTO>> getProjectTaskSlice(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt", "id"));
+        return ResponseEntity.ok(taskService.getProjectTaskSlice(projectId, userId, pageable, includeTotal));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get project tasks by cursor",
+            description = "Keyset-paginated tasks in creation order. Send an empty cursor for the first page, " +
+                    "then the returned nextCursor; every page costs the same regardless of depth.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<CursorPage<TaskDTO>> getProjectTasksByCursor(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.getProjectTasks(projectId, userId, cursor, size));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search tasks", description = "Search tasks in a project by title or description")
+    @Operation(summary = "Search tasks",
+            description = "Search tasks in a project by title or description. mode=contains (default) matches " +
+                    "substrings; mode=fulltext runs an indexed, ranked full-text search that accepts " +
+                    "web-style queries such as \"quoted phrase\", or, and -excluded.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown search mode, field or view"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
-    public ResponseEntity<Page<TaskDTO>> searchTasks(
+    public ResponseEntity<Page<?>> searchTasks(
             @PathVariable Long projectId,
             @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "contains") String mode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
+        Set<TaskField> selected = TaskField.select(fields, view);
+        TaskSearchMode searchMode = TaskSearchMode.from(mode);
         Pageable pageable = PageRequest.of(page, size);
-        Page<TaskDTO> tasks = taskService.searchTasks(projectId, userId, searchTerm, pageable);
+        Page<?> tasks = selected == null
+                ? taskService.searchTasks(projectId, userId, searchTerm, searchMode, pageable)
+                : taskService.searchTasks(projectId, userId, searchTerm, searchMode, selected, pageable);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(value = "/search", params = "count=false")
+    @Operation(summary = "Search tasks without a count",
+            description = "Search page that skips the COUNT query, so the match runs once instead of twice")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown search mode"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<SlicePage<TaskDTO>> searchTaskSlice(
+            @PathVariable Long projectId,
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "contains") String mode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        Pageable pageable = PageRequest.of(page, size);
+        return ResponseEntity.ok(taskService.searchTaskSlice(
+                projectId, userId, searchTerm, TaskSearchMode.from(mode), pageable));
+    }
+
+    @GetMapping("/search/similar")
+    @Operation(summary = "Suggest similar tasks",
+            description = "\"Did you mean\" results: tasks whose titles are trigram-similar to the term, best match first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Similar tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<List<TaskDTO>> findSimilarTasks(
+            @PathVariable Long projectId,
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "5") int limit,
+            Authentication authentication) {
+        if (limit < 1 || limit > MAX_SIMILAR_RESULTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SIMILAR_RESULTS);
+        }
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.findSimilarTasks(projectId, userId, searchTerm, limit));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest task titles",
+            description = "Typeahead completions: distinct task titles starting with the prefix, ignoring case, served from memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    public ResponseEntity<List<String>> suggestTaskTitles(
+            @PathVariable Long projectId,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.suggestTaskTitles(projectId, userId, prefix, limit));
+    }
+
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task", description = "Retrieve a specific task by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task retrieved successfully",
                     content = @Content(schema = @Schema(implementation = TaskDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Task or project not found")
     })
     public ResponseEntity<TaskDTO> getTaskById(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
+        if (ifNoneMatch != null) {
+            String etag = taskService.getTaskTag(taskId, projectId, userId);
+            if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+        }
         TaskDTO task = taskService.getTaskById(taskId, projectId, userId);
-        return ResponseEntity.ok(task);
+        return ConditionalResponses.ok(ETags.task(task.getId(), task.getUpdatedAt()), task);
     }
 
     @PutMapping("/{taskId}")
@@ -109,16 +348,20 @@ public class TaskController {
                     content = @Content(schema = @Schema(implementation = TaskDTO.class))),
             @ApiResponse(responseCode = "400", description = "Validation error"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "404", description = "Task or project not found")
+            @ApiResponse(responseCode = "404", description = "Task or project not found"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the If-Match ETag")
     })
     public ResponseEntity<TaskDTO> updateTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @Valid @RequestBody CreateTaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        TaskDTO task = taskService.updateTask(taskId, projectId, userId, request);
-        return ResponseEntity.ok(task);
+        TaskDTO task = taskService.updateTask(taskId, projectId, userId, request, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ETags.task(task.getId(), task.getUpdatedAt()))
+                .body(task);
     }
 
     @PutMapping("/{taskId}/complete")
@@ -159,14 +402,20 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Progress retrieved successfully",
                     content = @Content(schema = @Schema(implementation = ProgressDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No task in the project changed since the If-None-Match ETag"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Project not found")
     })
     public ResponseEntity<ProgressDTO> getProjectProgress(
             @PathVariable Long projectId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
+        String etag = taskService.getTaskListTag(projectId, userId);
+        if (ConditionalResponses.notModified(ifNoneMatch, etag)) {
+            return ConditionalResponses.notModified(etag);
+        }
         ProgressDTO progress = taskService.getProjectProgress(projectId, userId);
-        return ResponseEntity.ok(progress);
+        return ConditionalResponses.ok(etag, progress);
     }
 }
@@ -10,5 +10,7 @@ public class AuthLoginResponse {
     private String token;
     private String tokenType = "Bearer";
     private Long expiresIn;
+    private String refreshToken;
+    private Long refreshExpiresIn;
     private UserDTO user;
 }
@@ -0,0 +1,16 @@
+package com.example.taskmanager.dtos;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkProvisionResponse {
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private long elapsedMs;
+    private List<ProvisionUserResult> results;
+}
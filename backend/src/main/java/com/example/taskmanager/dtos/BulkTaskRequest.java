@@ -0,0 +1,25 @@
+package com.example.taskmanager.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.util.List;
+
+/**
+ * Selects the tasks of a bulk operation, either by id or by filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskRequest {
+
+    @Size(max = 5000, message = "At most 5000 task ids can be given at once")
+    private List<@NotNull Long> taskIds;
+
+    @Valid
+    private TaskFilter filter;
+
+    // Only used by move
+    private Long targetProjectId;
+}
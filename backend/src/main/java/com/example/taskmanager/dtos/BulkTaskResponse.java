@@ -0,0 +1,11 @@
+package com.example.taskmanager.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResponse {
+    private int affected;
+}
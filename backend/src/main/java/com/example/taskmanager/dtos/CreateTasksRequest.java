@@ -0,0 +1,17 @@
+package com.example.taskmanager.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateTasksRequest {
+
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 5000, message = "At most 5000 tasks can be created at once")
+    private List<@Valid @NotNull CreateTaskRequest> tasks;
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanager.dtos;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // Pass back as ?cursor= to fetch the following page; null on the last page
+    private String nextCursor;
+}
@@ -7,7 +7,18 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class ProgressDTO {
+    private Long projectId;
     private Long totalTasks;
     private Long completedTasks;
     private Double progressPercentage;
+
+    public static ProgressDTO of(Long projectId, Long totalTasks, Long completedTasks) {
+        double percentage = totalTasks > 0 ? (completedTasks.doubleValue() / totalTasks.doubleValue()) * 100 : 0.0;
+        return ProgressDTO.builder()
+                .projectId(projectId)
+                .totalTasks(totalTasks)
+                .completedTasks(completedTasks)
+                .progressPercentage(percentage)
+                .build();
+    }
 }
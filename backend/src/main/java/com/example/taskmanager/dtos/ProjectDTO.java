@@ -1,5 +1,6 @@
 package com.example.taskmanager.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -14,4 +15,14 @@ public class ProjectDTO {
     private Long userId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Only populated when the list is requested with includeProgress=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProgressDTO progress;
+
+    // Target of ProjectRepository's JPQL constructor expressions; callers drop progress when not requested
+    public ProjectDTO(Long id, String title, String description, Long userId,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, Long totalTasks, Long completedTasks) {
+        this(id, title, description, userId, createdAt, updatedAt, ProgressDTO.of(id, totalTasks, completedTasks));
+    }
 }
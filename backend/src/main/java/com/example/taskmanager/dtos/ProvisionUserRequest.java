@@ -0,0 +1,30 @@
+package com.example.taskmanager.dtos;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * One row of a bulk provisioning import. Either a plain-text password or an
+ * existing BCrypt hash (for migrations from another system) must be given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProvisionUserRequest {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String email;
+
+    @Size(max = 100, message = "Full name must not exceed 100 characters")
+    private String fullName;
+
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String password;
+
+    @Pattern(regexp = "^(\\{bcrypt})?\\$2[abxy]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$",
+            message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProvisionUserResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private int index;
+    private String email;
+    private Status status;
+    private String message;
+}
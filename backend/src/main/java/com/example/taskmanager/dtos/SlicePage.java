@@ -0,0 +1,20 @@
+package com.example.taskmanager.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlicePage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    // Only when requested, and only where it is known without a COUNT query
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
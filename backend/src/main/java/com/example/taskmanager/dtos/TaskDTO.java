@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class TaskDTO {
+    // Field order defines the all-args constructor used by TaskRepository's JPQL constructor expressions
     private Long id;
     private String title;
     private String description;
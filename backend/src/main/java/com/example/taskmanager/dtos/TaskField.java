@@ -0,0 +1,96 @@
+package com.example.taskmanager.dtos;
+
+import com.example.taskmanager.exceptions.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Task fields a list request can select with fields= or view=. Each maps a
+ * TaskDTO property to the entity attribute it is read from, so only the
+ * selected columns are queried.
+ */
+public enum TaskField {
+    ID("id", "id", TaskDTO::getId),
+    TITLE("title", "title", TaskDTO::getTitle),
+    DESCRIPTION("description", "description", TaskDTO::getDescription),
+    DUE_DATE("dueDate", "dueDate", TaskDTO::getDueDate),
+    IS_COMPLETED("isCompleted", "isCompleted", TaskDTO::getIsCompleted),
+    // project.id is the tasks.project_id column, so selecting it does not join
+    PROJECT_ID("projectId", "project.id", TaskDTO::getProjectId),
+    CREATED_AT("createdAt", "createdAt", TaskDTO::getCreatedAt),
+    UPDATED_AT("updatedAt", "updatedAt", TaskDTO::getUpdatedAt);
+
+    // What a list row shows: no description
+    public static final Set<TaskField> SUMMARY = Collections.unmodifiableSet(EnumSet.of(ID, TITLE, DUE_DATE, IS_COMPLETED));
+
+    private final String property;
+    private final String attribute;
+    private final Function<TaskDTO, Object> value;
+
+    TaskField(String property, String attribute, Function<TaskDTO, Object> value) {
+        this.property = property;
+        this.attribute = attribute;
+        this.value = value;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static TaskField from(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown task field: " + property);
+    }
+
+    /**
+     * Resolves the fields= and view= request parameters. Returns null when the
+     * full TaskDTO is wanted. id is always included.
+     */
+    public static Set<TaskField> select(String fields, String view) {
+        if (fields != null && view != null) {
+            throw new BadRequestException("Use either fields or view, not both");
+        }
+        if (view != null) {
+            return switch (view.toLowerCase(Locale.ROOT)) {
+                case "summary" -> SUMMARY;
+                case "full" -> null;
+                default -> throw new BadRequestException("Unknown view: " + view);
+            };
+        }
+        if (fields == null) {
+            return null;
+        }
+        Set<TaskField> selected = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                selected.add(from(property.trim()));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The selected fields of an already loaded task, in field order.
+     */
+    public static Map<String, Object> valuesOf(TaskDTO task, Set<TaskField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            row.put(field.property, field.value.apply(task));
+        }
+        return row;
+    }
+}
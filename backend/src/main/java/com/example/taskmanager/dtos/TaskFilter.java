@@ -0,0 +1,16 @@
+package com.example.taskmanager.dtos;
+
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Criteria for bulk operations; unset fields match every task of the project.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFilter {
+    private Boolean completed;
+    private LocalDate dueBefore;
+}
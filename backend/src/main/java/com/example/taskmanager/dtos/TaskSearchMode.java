@@ -0,0 +1,19 @@
+package com.example.taskmanager.dtos;
+
+import com.example.taskmanager.exceptions.BadRequestException;
+
+public enum TaskSearchMode {
+    // Case-insensitive substring match on title and description
+    CONTAINS,
+    // Ranked PostgreSQL full-text search over the indexed search_vector
+    FULLTEXT;
+
+    public static TaskSearchMode from(String mode) {
+        for (TaskSearchMode value : values()) {
+            if (value.name().equalsIgnoreCase(mode)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Unknown search mode: " + mode);
+    }
+}
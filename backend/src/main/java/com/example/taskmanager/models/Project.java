@@ -2,13 +2,18 @@ package com.example.taskmanager.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Entity
 @Table(name = "projects", indexes = {
-    @Index(name = "idx_user_id", columnList = "user_id")
+    @Index(name = "idx_projects_user_created_id", columnList = "user_id, created_at, id")
 })
+// Projects pending deletion are invisible to every query, including joins from tasks
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +21,8 @@ import java.util.List;
 public class Project {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_id_seq")
+    @SequenceGenerator(name = "projects_id_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -32,6 +38,32 @@ public class Project {
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks;
 
+    // Maintained with atomic SQL increments only, never written from the entity, so a loaded
+    // entity can hold stale values: mapped for JPQL projections such as ProjectTaskCounts, but
+    // deliberately without accessors
+    @ColumnDefault("0")
+    @Column(name = "total_tasks", nullable = false, insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long totalTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_tasks", nullable = false, insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long completedTasks;
+
+    // Bumped in the same statements as the counters, plus on task edits
+    @ColumnDefault("0")
+    @Column(name = "tasks_version", nullable = false, insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long tasksVersion;
+
+    // Set by ProjectRepository.markDeleted; the row is removed later by ProjectPurger
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -40,12 +72,12 @@ public class Project {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
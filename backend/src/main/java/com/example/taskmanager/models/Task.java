@@ -4,11 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "tasks", indexes = {
-    @Index(name = "idx_project_id", columnList = "project_id"),
-    @Index(name = "idx_is_completed", columnList = "is_completed")
+    @Index(name = "idx_is_completed", columnList = "is_completed"),
+    @Index(name = "idx_tasks_project_created_id", columnList = "project_id, created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -17,7 +18,8 @@ import java.time.LocalDate;
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -44,8 +46,8 @@ public class Task {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (isCompleted == null) {
             isCompleted = false;
         }
@@ -53,6 +55,6 @@ public class Task {
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
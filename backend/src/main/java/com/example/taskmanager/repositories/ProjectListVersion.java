@@ -0,0 +1,14 @@
+package com.example.taskmanager.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate that changes whenever any of a user's projects, or their tasks, change.
+ */
+public interface ProjectListVersion {
+    Long getProjects();
+
+    LocalDateTime getLastUpdatedAt();
+
+    Long getTasksVersion();
+}
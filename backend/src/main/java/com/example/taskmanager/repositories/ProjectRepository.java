@@ -1,16 +1,112 @@
 package com.example.taskmanager.repositories;
 
+import com.example.taskmanager.dtos.ProjectDTO;
 import com.example.taskmanager.models.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    Page<Project> findByUserId(Long userId, Pageable pageable);
+
+    // Read paths select straight into ProjectDTO, counters included, without hydrating
+    // entities; p.user.id is read from the user_id column without a join
+    String SELECT_PROJECT_DTO = "SELECT new com.example.taskmanager.dtos.ProjectDTO(p.id, p.title, p.description, " +
+            "p.user.id, p.createdAt, p.updatedAt, p.totalTasks, p.completedTasks) FROM Project p ";
+
+    @Query(value = SELECT_PROJECT_DTO + "WHERE p.user.id = :userId",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.user.id = :userId")
+    Page<ProjectDTO> findByUserId(@Param("userId") Long userId, Pageable pageable);
     List<Project> findByUserId(Long userId);
+    // Not query-cached: a project soft-deleted on another node would be served from here until
+    // the entry expired. It only backs updates, which should go to the database anyway
     Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    @Query(SELECT_PROJECT_DTO + "WHERE p.id = :id AND p.user.id = :userId")
+    Optional<ProjectDTO> findDTOByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset pages, served by idx_projects_user_created_id
+    @Query(SELECT_PROJECT_DTO + "WHERE p.user.id = :userId ORDER BY p.createdAt, p.id")
+    List<ProjectDTO> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SELECT_PROJECT_DTO + "WHERE p.user.id = :userId " +
+           "AND (p.createdAt, p.id) > (:createdAt, :id) ORDER BY p.createdAt, p.id")
+    List<ProjectDTO> findPageByUserIdAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Query("SELECT p.user.id FROM Project p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS projectId, p.totalTasks AS totalTasks, p.completedTasks AS completedTasks " +
+           "FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<ProjectTaskCounts> findTaskCounts(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT p.id AS projectId, p.totalTasks AS totalTasks, p.completedTasks AS completedTasks " +
+           "FROM Project p WHERE p.user.id = :userId ORDER BY p.id")
+    List<ProjectTaskCounts> findTaskCountsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.id AS projectId, p.totalTasks AS totalTasks, p.completedTasks AS completedTasks " +
+           "FROM Project p WHERE p.user.id = :userId AND p.id IN :ids ORDER BY p.id")
+    List<ProjectTaskCounts> findTaskCountsByUserIdAndIdIn(@Param("userId") Long userId,
+                                                          @Param("ids") Collection<Long> ids);
+
+    // Also bumps tasks_version, so every counter change invalidates task list ETags. The
+    // synchronized space keeps Hibernate from clearing the whole second-level cache on each call.
+    // Loaded Project entities keep stale copies of these columns, which is why the entity has no
+    // accessors for them and they are only read through projections
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_counters"))
+    @Query(value = "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+                   "completed_tasks = completed_tasks + :completedDelta, " +
+                   "tasks_version = tasks_version + 1 WHERE id = :id AND deleted_at IS NULL",
+           nativeQuery = true)
+    int adjustTaskCounters(@Param("id") Long id,
+                           @Param("totalDelta") long totalDelta,
+                           @Param("completedDelta") long completedDelta);
+
+    // For task writes that leave the counters alone; flushes first so the edited task's updatedAt is stamped
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_counters"))
+    @Query(value = "UPDATE projects SET tasks_version = tasks_version + 1 WHERE id = :id", nativeQuery = true)
+    int bumpTasksVersion(@Param("id") Long id);
+
+    @Query("SELECT p.tasksVersion FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Long> findTasksVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT p.updatedAt FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<LocalDateTime> findUpdatedAt(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) AS projects, MAX(p.updatedAt) AS lastUpdatedAt, " +
+           "COALESCE(SUM(p.tasksVersion), 0L) AS tasksVersion FROM Project p WHERE p.user.id = :userId")
+    ProjectListVersion findListVersion(@Param("userId") Long userId);
+
+    // Hides the project at once; its tasks are deleted in the background by ProjectPurger.
+    // Synchronized on projects, so it leaves the cached users alone
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "UPDATE projects SET deleted_at = CURRENT_TIMESTAMP, tasks_version = tasks_version + 1 " +
+                   "WHERE id = :id AND user_id = :userId AND deleted_at IS NULL",
+           nativeQuery = true)
+    int markDeleted(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Holds the row so an If-Match check and the update that follows it are atomic
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Project> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
 }
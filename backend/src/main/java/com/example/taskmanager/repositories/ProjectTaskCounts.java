@@ -0,0 +1,9 @@
+package com.example.taskmanager.repositories;
+
+public interface ProjectTaskCounts {
+    Long getProjectId();
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.repositories;
+
+/**
+ * Set-based task writes that run as a single UPDATE or DELETE without loading
+ * entities. Every statement also requires the project to belong to the user,
+ * so ownership holds even if the caller's check was answered from a stale cache.
+ *
+ * Each call touches only tasks in one completion state, so the affected-row
+ * count tells the caller exactly how to adjust the project's task counters.
+ */
+public interface TaskBulkOperations {
+
+    /**
+     * Sets isCompleted on the selected tasks that currently have the opposite value.
+     */
+    int bulkSetCompleted(Long projectId, Long userId, TaskSelection selection, boolean completed);
+
+    /**
+     * Moves the selected tasks in the given completion state to another project of the same user.
+     */
+    int bulkMove(Long projectId, Long userId, TaskSelection selection, boolean completedState, Long targetProjectId);
+
+    /**
+     * Deletes the selected tasks in the given completion state.
+     */
+    int bulkDelete(Long projectId, Long userId, TaskSelection selection, boolean completedState);
+}
@@ -0,0 +1,84 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.models.Project;
+import com.example.taskmanager.models.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskBulkOperationsImpl implements TaskBulkOperations {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int bulkSetCompleted(Long projectId, Long userId, TaskSelection selection, boolean completed) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        update.set(task.<Boolean>get("isCompleted"), completed)
+                .set(task.<LocalDateTime>get("updatedAt"), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .where(selected(cb, update, task, projectId, userId, selection, !completed));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int bulkMove(Long projectId, Long userId, TaskSelection selection, boolean completedState,
+                        Long targetProjectId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        List<Predicate> predicates = new ArrayList<>(List.of(
+                selected(cb, update, task, projectId, userId, selection, completedState)));
+        predicates.add(ownedBy(cb, update, targetProjectId, userId));
+        update.set(task.<Project>get("project"), entityManager.getReference(Project.class, targetProjectId))
+                .set(task.<LocalDateTime>get("updatedAt"), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int bulkDelete(Long projectId, Long userId, TaskSelection selection, boolean completedState) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+        Root<Task> task = delete.from(Task.class);
+        delete.where(selected(cb, delete, task, projectId, userId, selection, completedState));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private Predicate[] selected(CriteriaBuilder cb, CommonAbstractCriteria query, Root<Task> task,
+                                 Long projectId, Long userId, TaskSelection selection, boolean completedState) {
+        List<Predicate> predicates = new ArrayList<>();
+        // project.id is the tasks.project_id column, so none of this joins
+        predicates.add(cb.equal(task.get("project").get("id"), projectId));
+        predicates.add(ownedBy(cb, query, projectId, userId));
+        predicates.add(cb.equal(task.get("isCompleted"), completedState));
+        if (selection.taskIds() != null) {
+            predicates.add(task.get("id").in(selection.taskIds()));
+        }
+        if (selection.dueBefore() != null) {
+            predicates.add(cb.lessThan(task.get("dueDate"), selection.dueBefore()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private Predicate ownedBy(CriteriaBuilder cb, CommonAbstractCriteria query, Long projectId, Long userId) {
+        Subquery<Long> owned = query.subquery(Long.class);
+        Root<Project> project = owned.from(Project.class);
+        owned.select(project.get("id"))
+                .where(cb.equal(project.get("id"), projectId),
+                        cb.equal(project.get("user").get("id"), userId));
+        return cb.exists(owned);
+    }
+}
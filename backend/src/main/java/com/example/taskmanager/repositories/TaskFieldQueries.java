@@ -0,0 +1,24 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.dtos.TaskField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Task list reads that select only the requested fields, so unrequested
+ * columns, in particular the description TEXT, are never read from the table
+ * or its TOAST storage.
+ */
+public interface TaskFieldQueries {
+
+    /**
+     * A page of a project's tasks as field name to value maps, in field order.
+     *
+     * @param pattern null for every task, or a contains LIKE pattern matched against
+     *                title and description the same way as {@link TaskRepository#searchTasks}
+     */
+    Page<Map<String, Object>> findFields(Long projectId, String pattern, Set<TaskField> fields, Pageable pageable);
+}
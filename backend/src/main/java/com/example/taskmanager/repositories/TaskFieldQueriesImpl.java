@@ -0,0 +1,103 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.models.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class TaskFieldQueriesImpl implements TaskFieldQueries {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String PATTERN = "pattern";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findFields(Long projectId, String pattern, Set<TaskField> fields,
+                                                Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (TaskField field : fields) {
+            selections.add(path(task, field).alias(field.getProperty()));
+        }
+        query.multiselect(selections)
+                .where(matching(cb, task, projectId, pattern))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+
+        TypedQuery<Tuple> typed = bind(entityManager.createQuery(query), pattern);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = typed.getResultList().stream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+        // The COUNT only runs when the page alone can't tell the total
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(projectId, pattern));
+    }
+
+    private long count(Long projectId, String pattern) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task))
+                .where(matching(cb, task, projectId, pattern));
+        return bind(entityManager.createQuery(query), pattern).getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, String pattern) {
+        return pattern == null ? query : query.setParameter(PATTERN, pattern);
+    }
+
+    private static Predicate[] matching(CriteriaBuilder cb, Root<Task> task, Long projectId, String pattern) {
+        // Joined rather than task.get("project").get("id"), so the project's @SQLRestriction applies
+        Predicate inProject = cb.equal(task.join("project").get("id"), projectId);
+        if (pattern == null) {
+            return new Predicate[]{inProject};
+        }
+        // Same shape as the JPQL search, so the idx_tasks_*_trgm expression indexes apply; the
+        // pattern is bound by bind() rather than rendered into the SQL
+        Expression<String> lowerPattern = cb.lower(cb.parameter(String.class, PATTERN));
+        return new Predicate[]{inProject, cb.or(
+                cb.like(cb.lower(task.<String>get("title")), lowerPattern, LIKE_ESCAPE),
+                cb.like(cb.lower(task.<String>get("description")), lowerPattern, LIKE_ESCAPE))};
+    }
+
+    private static Path<?> path(Root<Task> task, TaskField field) {
+        Path<?> path = task;
+        for (String attribute : field.getAttribute().split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, Set<TaskField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            row.put(field.getProperty(), tuple.get(field.getProperty()));
+        }
+        return row;
+    }
+}
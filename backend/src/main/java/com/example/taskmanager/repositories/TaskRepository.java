@@ -1,30 +1,145 @@
 package com.example.taskmanager.repositories;
 
+import com.example.taskmanager.dtos.TaskDTO;
 import com.example.taskmanager.models.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByProjectId(Long projectId, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBulkOperations, TaskFieldQueries {
+
+    // Read paths select straight into TaskDTO: no entities are hydrated or snapshotted
+    // for dirty checking, and t.project.id is read from the project_id column without a join
+    String SELECT_TASK_DTO = "SELECT new com.example.taskmanager.dtos.TaskDTO(t.id, t.title, t.description, " +
+            "t.dueDate, t.isCompleted, t.project.id, t.createdAt, t.updatedAt) FROM Task t ";
+
+    // Joining the project applies its @SQLRestriction, so tasks of a project pending deletion
+    // are not read; t.project.id = :projectId alone only tests the project_id column
+    String IN_PROJECT = "JOIN t.project p WHERE p.id = :projectId ";
+
+    // The same for native queries, which @SQLRestriction never reaches
+    String IN_PROJECT_SQL = "JOIN projects p ON p.id = t.project_id AND p.deleted_at IS NULL " +
+            "WHERE t.project_id = :projectId ";
+
+    @Query(value = SELECT_TASK_DTO + IN_PROJECT,
+           countQuery = "SELECT COUNT(t) FROM Task t " + IN_PROJECT)
+    Page<TaskDTO> findByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Loads a whole project for the in-memory search index
+    @Query(SELECT_TASK_DTO + IN_PROJECT + "ORDER BY t.id")
+    List<TaskDTO> findAllByProjectIdOrderById(@Param("projectId") Long projectId);
+
+    // Loads a whole project's titles for the typeahead suggester
+    @Query("SELECT t.id AS id, t.title AS title FROM Task t " + IN_PROJECT)
+    List<TaskTitle> findTitlesByProjectId(@Param("projectId") Long projectId);
+
+    // Slice variants fetch size + 1 rows to report hasNext and never run a COUNT query
+    @Query(SELECT_TASK_DTO + IN_PROJECT)
+    Slice<TaskDTO> findSliceByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Keyset pages, served by idx_tasks_project_created_id
+    @Query(SELECT_TASK_DTO + IN_PROJECT + "ORDER BY t.createdAt, t.id")
+    List<TaskDTO> findFirstPageByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    @Query(SELECT_TASK_DTO + IN_PROJECT +
+           "AND (t.createdAt, t.id) > (:createdAt, :id) ORDER BY t.createdAt, t.id")
+    List<TaskDTO> findPageByProjectIdAfter(@Param("projectId") Long projectId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.isCompleted = true")
+    @Query("SELECT COUNT(t) FROM Task t " + IN_PROJECT + "AND t.isCompleted = true")
     Long countCompletedTasks(@Param("projectId") Long projectId);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
+    @Query("SELECT COUNT(t) FROM Task t " + IN_PROJECT)
     Long countTotalTasks(@Param("projectId") Long projectId);
     
-    Optional<Task> findByIdAndProjectId(Long taskId, Long projectId);
+    @Query("SELECT t FROM Task t " + IN_PROJECT + "AND t.id = :taskId")
+    Optional<Task> findByIdAndProjectId(@Param("taskId") Long taskId, @Param("projectId") Long projectId);
+
+    // Task, project and owner resolved in one join on the primary key and projects.user_id
+    @Query("SELECT t FROM Task t JOIN t.project p " +
+           "WHERE t.id = :taskId AND p.id = :projectId AND p.user.id = :userId")
+    Optional<Task> findOwnedTask(@Param("taskId") Long taskId,
+                                 @Param("projectId") Long projectId,
+                                 @Param("userId") Long userId);
+
+    @Query(SELECT_TASK_DTO + "JOIN t.project p " +
+           "WHERE t.id = :taskId AND p.id = :projectId AND p.user.id = :userId")
+    Optional<TaskDTO> findOwnedTaskDTO(@Param("taskId") Long taskId,
+                                       @Param("projectId") Long projectId,
+                                       @Param("userId") Long userId);
+
+    @Query("SELECT t.updatedAt FROM Task t JOIN t.project p " +
+           "WHERE t.id = :taskId AND p.id = :projectId AND p.user.id = :userId")
+    Optional<LocalDateTime> findOwnedTaskUpdatedAt(@Param("taskId") Long taskId,
+                                                   @Param("projectId") Long projectId,
+                                                   @Param("userId") Long userId);
+
+    // Serializes concurrent completions so the project counter is bumped exactly once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t JOIN t.project p " +
+           "WHERE t.id = :taskId AND p.id = :projectId AND p.user.id = :userId")
+    Optional<Task> findOwnedTaskForUpdate(@Param("taskId") Long taskId,
+                                          @Param("projectId") Long projectId,
+                                          @Param("userId") Long userId);
     
-    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND " +
-           "(LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Task> searchTasks(@Param("projectId") Long projectId, 
-                           @Param("searchTerm") String searchTerm, 
-                           Pageable pageable);
+    // pattern is a LIKE pattern with \ as escape character, e.g. "%ab\_1%"; both
+    // sides are lower-cased in SQL so the idx_tasks_*_trgm expression indexes apply
+    @Query(value = SELECT_TASK_DTO + IN_PROJECT + "AND " +
+                   "(LOWER(t.title) LIKE LOWER(:pattern) ESCAPE '\\' OR " +
+                   "LOWER(t.description) LIKE LOWER(:pattern) ESCAPE '\\')",
+           countQuery = "SELECT COUNT(t) FROM Task t " + IN_PROJECT + "AND " +
+                        "(LOWER(t.title) LIKE LOWER(:pattern) ESCAPE '\\' OR " +
+                        "LOWER(t.description) LIKE LOWER(:pattern) ESCAPE '\\')")
+    Page<TaskDTO> searchTasks(@Param("projectId") Long projectId,
+                              @Param("pattern") String pattern,
+                              Pageable pageable);
+
+    @Query(SELECT_TASK_DTO + IN_PROJECT + "AND " +
+           "(LOWER(t.title) LIKE LOWER(:pattern) ESCAPE '\\' OR " +
+           "LOWER(t.description) LIKE LOWER(:pattern) ESCAPE '\\')")
+    Slice<TaskDTO> searchTasksSlice(@Param("projectId") Long projectId,
+                                    @Param("pattern") String pattern,
+                                    Pageable pageable);
+
+    // websearch_to_tsquery accepts raw user input (quotes, OR, -term) without syntax errors
+    @Query(value = "SELECT t.* FROM websearch_to_tsquery('english', :query) q, tasks t " + IN_PROJECT_SQL +
+                   "AND t.search_vector @@ q " +
+                   "ORDER BY ts_rank(t.search_vector, q) DESC, t.id",
+           countQuery = "SELECT COUNT(*) FROM tasks t " + IN_PROJECT_SQL +
+                        "AND t.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    Page<Task> fullTextSearch(@Param("projectId") Long projectId,
+                              @Param("query") String query,
+                              Pageable pageable);
+
+    @Query(value = "SELECT t.* FROM websearch_to_tsquery('english', :query) q, tasks t " + IN_PROJECT_SQL +
+                   "AND t.search_vector @@ q " +
+                   "ORDER BY ts_rank(t.search_vector, q) DESC, t.id",
+           nativeQuery = true)
+    Slice<Task> fullTextSearchSlice(@Param("projectId") Long projectId,
+                                    @Param("query") String query,
+                                    Pageable pageable);
+
+    // "Did you mean": titles trigram-similar to the term (pg_trgm % operator), best match first
+    @Query(value = "SELECT t.* FROM tasks t " + IN_PROJECT_SQL +
+                   "AND lower(t.title) % lower(:term) " +
+                   "ORDER BY similarity(lower(t.title), lower(:term)) DESC, t.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Task> findSimilarTitles(@Param("projectId") Long projectId,
+                                 @Param("term") String term,
+                                 @Param("limit") int limit);
 }
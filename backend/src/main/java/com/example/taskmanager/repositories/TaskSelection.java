@@ -0,0 +1,14 @@
+package com.example.taskmanager.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Tasks of one project targeted by a bulk operation. Null fields do not restrict.
+ */
+public record TaskSelection(Collection<Long> taskIds, Boolean completed, LocalDate dueBefore) {
+
+    public boolean includes(boolean completedState) {
+        return completed == null || completed == completedState;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.repositories;
+
+public interface TaskTitle {
+    Long getId();
+
+    String getTitle();
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose work factor is chosen at startup so that one hash takes
+ * roughly the configured target time on the current CPU. Any stored hash with a
+ * different cost, higher or lower, is reported as needing an upgrade.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // upgradeEncoding itself is final and answers false for null or empty hashes
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-sample");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long median = Math.max(1, samples[SAMPLES / 2]);
+
+        // Each extra cost round doubles the work
+        double doublings = Math.log((double) target.toNanos() / median) / Math.log(2);
+        int strength = Math.max(minStrength, Math.min(maxStrength, minStrength + (int) Math.round(doublings)));
+
+        log.info("Calibrated BCrypt strength {} for a {} ms target (strength {} took {} ms)",
+                strength, target.toMillis(), minStrength, Duration.ofNanos(median).toMillis());
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+}
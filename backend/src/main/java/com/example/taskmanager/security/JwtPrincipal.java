@@ -0,0 +1,19 @@
+package com.example.taskmanager.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * The verified identity carried by an access token.
+ */
+@Value
+public class JwtPrincipal {
+    Long userId;
+    String tokenId;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.taskmanager.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,8 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -21,39 +24,53 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration}")
     private long jwtExpirationMs;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public String generateToken(Long userId, String email) {
+        return tokenBuilder(userId)
+                .claim("email", email)
+                .compact();
+    }
+
+    /**
+     * Access token without profile claims, used on refresh so that path never reads users.
+     */
+    public String generateToken(Long userId) {
+        return tokenBuilder(userId).compact();
+    }
+
+    private JwtBuilder tokenBuilder(Long userId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
-                .claim("email", email)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
-                .compact();
-    }
-
-    public Long getUserIdFromJWT(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.parseLong(claims.getSubject());
+                .signWith(signingKey);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and parses the claims in a single pass.
+     * Returns an empty optional for any invalid or expired token.
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return Optional.of(new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.getId(),
+                    claims.getExpiration().toInstant()));
         } catch (ExpiredJwtException ex) {
             log.error("Expired JWT token: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
@@ -65,7 +82,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     public Long getExpirationTime() {
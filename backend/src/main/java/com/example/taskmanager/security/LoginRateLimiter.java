@@ -0,0 +1,81 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per email and per client IP before any database
+ * lookup or password hashing happens.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    public LoginRateLimiter(@Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.security.login-rate-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${app.security.login-rate-limit.email.refill-period:12s}") Duration emailRefillPeriod,
+                            @Value("${app.security.login-rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${app.security.login-rate-limit.ip.refill-period:3s}") Duration ipRefillPeriod,
+                            @Value("${app.security.login-rate-limit.max-keys:100000}") int maxKeys,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPeriod, maxKeys);
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPeriod, maxKeys);
+        this.emailRejections = Counter.builder("auth.login.throttled").tag("key", "email").register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.login.buckets", emailLimiter, TokenBucketRateLimiter::size)
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.buckets", ipLimiter, TokenBucketRateLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.login.overflow", emailLimiter, TokenBucketRateLimiter::overflowRejections)
+                .tag("key", "email")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.login.overflow", ipLimiter, TokenBucketRateLimiter::overflowRejections)
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    public void checkLogin(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long ipWait = ipLimiter.tryAcquire(clientIp);
+        if (ipWait > 0) {
+            ipRejections.increment();
+            throw rejected(ipWait);
+        }
+        long emailWait = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (emailWait > 0) {
+            emailRejections.increment();
+            throw rejected(emailWait);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login-rate-limit.eviction-interval:60s}")
+    public void evictIdleBuckets() {
+        emailLimiter.evictIdle();
+        ipLimiter.evictIdle();
+    }
+
+    private static TooManyRequestsException rejected(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Too many login attempts, please try again later", retryAfterSeconds);
+    }
+}
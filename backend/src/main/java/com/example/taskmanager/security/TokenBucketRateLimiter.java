@@ -0,0 +1,119 @@
+package com.example.taskmanager.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free keyed token buckets. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (the GCRA form of a token
+ * bucket), so a check is one map lookup plus one CAS.
+ *
+ * The key set is bounded: buckets that have refilled completely carry no state
+ * and are evicted first, then buckets holding at least half their burst. If
+ * every tracked key is still being throttled harder than that, a new key is
+ * refused until the first of them can be evicted. Letting it through untracked
+ * would lift the limit for anyone able to fill the key set.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong nextFreeSlotAt = new AtomicLong();
+    private final LongAdder overflowRejections = new LongAdder();
+
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.emissionIntervalNanos = refillPeriod.toNanos();
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 when the call is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+        if (bucket == null) {
+            overflowRejections.increment();
+            long wait = nextFreeSlotAt.get() - now;
+            return wait > 0 ? wait : emissionIntervalNanos;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has fully refilled. Such buckets are
+     * indistinguishable from absent ones, so eviction never loses state.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Calls refused without a bucket because the key set was full.
+     */
+    public long overflowRejections() {
+        return overflowRejections.sum();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys && evicting.compareAndSet(false, true)) {
+            try {
+                evictIdle();
+                if (buckets.size() >= maxKeys) {
+                    // Forgetting these hands back at most half a burst to each of them
+                    long halfFull = now + burstToleranceNanos / 2;
+                    buckets.values().removeIf(candidate -> candidate.get() <= halfFull);
+                }
+                if (buckets.size() >= maxKeys) {
+                    long earliest = buckets.values().stream().mapToLong(AtomicLong::get).min().orElse(now);
+                    nextFreeSlotAt.set(earliest - burstToleranceNanos / 2);
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+        if (buckets.size() >= maxKeys) {
+            return null;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.models.RevokedToken;
+import com.example.taskmanager.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "has this access token been revoked?" on every request without a
+ * database round trip. A Bloom filter rejects almost every valid token in a
+ * few memory reads; only filter hits consult the exact set. Both are fed
+ * incrementally from the revoked_tokens table, so revocations made on other
+ * nodes are seen within one refresh interval.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    // Re-read a little history on each poll to tolerate clock skew between nodes
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final Counter filterHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastRefresh = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${app.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.filterHits = Counter.builder("jwt.revocation.filter.hits").register(meterRegistry);
+        this.falsePositives = Counter.builder("jwt.revocation.filter.false-positives").register(meterRegistry);
+        Gauge.builder("jwt.revocation.entries", revoked, Map::size).register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public void revoke(String tokenId, Long userId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .userId(userId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build());
+        add(tokenId, expiresAt);
+        log.debug("Revoked token {} for user {}", tokenId, userId);
+    }
+
+    // Read-write so the poll reads the primary: a lagging replica could let it skip revocations
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval:5s}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                lastRefresh.minus(REFRESH_OVERLAP), now);
+        for (RevokedToken token : recent) {
+            add(token.getTokenId(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        lastRefresh = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval:10m}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        Instant now = Instant.now();
+        synchronized (writeLock) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            // Bloom filters cannot forget, so rebuild from the surviving entries
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        }
+        log.debug("Purged {} expired revocations, {} remain", deleted, revoked.size());
+    }
+
+    private void add(String tokenId, Instant expiresAt) {
+        synchronized (writeLock) {
+            revoked.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        }
+    }
+}
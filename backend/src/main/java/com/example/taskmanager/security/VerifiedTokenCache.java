@@ -0,0 +1,100 @@
+package com.example.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of access tokens whose signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the token so raw bearer tokens are
+ * never retained, and each entry is dropped once the token's {@code exp} passes
+ * or, when the cache is full, once it is among the least used.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider tokenProvider;
+    private final int maxSize;
+    private final Clock clock;
+    private final Cache<String, JwtPrincipal> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              @Value("${app.jwt.cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this(tokenProvider, maxSize, Clock.systemUTC());
+        FunctionCounter.builder("jwt.token.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.token.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("jwt.token.cache.size", entries, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    VerifiedTokenCache(JwtTokenProvider tokenProvider, int maxSize, Clock clock) {
+        this.tokenProvider = tokenProvider;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfter(Expiry.creating((String key, JwtPrincipal principal) -> untilExpiry(principal)))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public Optional<JwtPrincipal> resolve(String token) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return tokenProvider.parseToken(token);
+        }
+
+        Instant now = clock.instant();
+        String key = TokenDigests.sha256Hex(token);
+        JwtPrincipal cached = entries.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            entries.asMap().remove(key, cached);
+        }
+
+        misses.increment();
+        Optional<JwtPrincipal> principal = tokenProvider.parseToken(token);
+        principal.ifPresent(p -> entries.put(key, p));
+        return principal;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private Duration untilExpiry(JwtPrincipal principal) {
+        Duration remaining = Duration.between(clock.instant(), principal.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -3,36 +3,47 @@ package com.example.taskmanager.services;
 import com.example.taskmanager.dtos.AuthLoginRequest;
 import com.example.taskmanager.dtos.AuthLoginResponse;
 import com.example.taskmanager.dtos.AuthRegisterRequest;
+import com.example.taskmanager.dtos.RefreshTokenRequest;
 import com.example.taskmanager.dtos.UserDTO;
 import com.example.taskmanager.exceptions.ResourceNotFoundException;
+import com.example.taskmanager.exceptions.ServiceOverloadedException;
 import com.example.taskmanager.exceptions.UnauthorizedException;
 import com.example.taskmanager.models.User;
 import com.example.taskmanager.repositories.UserRepository;
 import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
+    // Hashing can wait on the hashing pool, so don't hold a pooled connection around it
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthLoginResponse login(AuthLoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new UnauthorizedException("Invalid email or password");
         }
 
+        rehashIfNeeded(user, request.getPassword());
+
         String token = jwtTokenProvider.generateToken(user.getId(), user.getEmail());
         Long expirationTime = jwtTokenProvider.getExpirationTime();
 
@@ -46,15 +57,55 @@ public class AuthService {
         return AuthLoginResponse.builder()
                 .token(token)
                 .expiresIn(expirationTime)
+                .refreshToken(refreshTokenService.issue(user.getId()).token())
+                .refreshExpiresIn(refreshTokenService.getExpirationTime())
                 .user(userDTO)
                 .build();
     }
 
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            user.setPasswordHash(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            log.debug("Re-hashed password for user {} with the current work factor", user.getId());
+        } catch (ServiceOverloadedException ex) {
+            // The login itself succeeded; upgrade on a later, quieter login
+            log.debug("Skipped password re-hash for user {}: {}", user.getId(), ex.getMessage());
+        }
+    }
+
+    // Touches only refresh_tokens, never users, so clients can refresh on a short timer
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthLoginResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+
+        return AuthLoginResponse.builder()
+                .token(jwtTokenProvider.generateToken(rotated.userId()))
+                .expiresIn(jwtTokenProvider.getExpirationTime())
+                .refreshToken(rotated.token())
+                .refreshExpiresIn(refreshTokenService.getExpirationTime())
+                .build();
+    }
+
+    public void logout(String token, String refreshToken) {
+        if (token != null) {
+            jwtTokenProvider.parseToken(token).ifPresent(principal -> tokenRevocationService.revoke(
+                    principal.getTokenId(), principal.getUserId(), principal.getExpiresAt()));
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
     public User getCurrentUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthLoginResponse register(AuthRegisterRequest request) {
         // Check if passwords match
         if (!request.getPassword().equals(request.getConfirmPassword())) {
@@ -70,7 +121,7 @@ public class AuthService {
         User user = User.builder()
                 .email(request.getEmail())
                 .fullName(request.getFullName())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingService.encode(request.getPassword()))
                 .build();
 
         User savedUser = userRepository.save(user);
@@ -89,6 +140,8 @@ public class AuthService {
         return AuthLoginResponse.builder()
                 .token(token)
                 .expiresIn(expirationTime)
+                .refreshToken(refreshTokenService.issue(savedUser.getId()).token())
+                .refreshExpiresIn(refreshTokenService.getExpirationTime())
                 .user(userDTO)
                 .build();
     }
@@ -0,0 +1,87 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.repositories.ProjectListVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong entity tags for task and project representations. Each tag is built
+ * from a value the database keeps current (updatedAt or a version stamp), so
+ * it can be computed with a one-column query before anything is loaded or
+ * serialized. Task and project timestamps are stamped at microsecond precision,
+ * which the database stores exactly, so a tag built right after a write matches
+ * one read back later.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String task(Long taskId, LocalDateTime updatedAt) {
+        return tag("t", taskId, micros(updatedAt));
+    }
+
+    public static String project(Long projectId, LocalDateTime updatedAt) {
+        return tag("p", projectId, micros(updatedAt));
+    }
+
+    public static String taskList(Long projectId, long tasksVersion) {
+        return tag("tl", projectId, tasksVersion);
+    }
+
+    public static String projectList(Long userId, ProjectListVersion version) {
+        return tag("pl", userId, version.getProjects(), micros(version.getLastUpdatedAt()), version.getTasksVersion());
+    }
+
+    /**
+     * If-None-Match check: weak comparison, and "*" matches any current representation.
+     */
+    public static boolean noneMatchHits(String ifNoneMatch, String etag) {
+        return contains(ifNoneMatch, etag, true);
+    }
+
+    /**
+     * If-Match check: strong comparison, so weak tags never match.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        return contains(ifMatch, etag, false);
+    }
+
+    private static boolean contains(String header, String etag, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tag(String kind, Object... parts) {
+        StringBuilder tag = new StringBuilder("\"").append(kind);
+        for (Object part : parts) {
+            tag.append('-').append(part instanceof Long value ? Long.toHexString(value) : part);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.CursorPage;
+import com.example.taskmanager.exceptions.BadRequestException;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position after the last row of a keyset page, ordered by (createdAt, id).
+ * Clients only ever see it as an opaque URL-safe string.
+ */
+record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * @return the decoded position, or null for a blank cursor (the first page)
+     */
+    static KeysetCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        return ENCODER.encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Row limit for a page of the given size: one extra row tells whether another page follows.
+     */
+    static Limit limit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #limit(int)}.
+     */
+    static <E, T> CursorPage<T> page(List<E> rows, int size, Function<E, KeysetCursor> position,
+                                     Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(content.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.apply(content.get(content.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, bounded pool so that bursts of logins
+ * cannot occupy every request thread. Work that does not fit in the queue is
+ * rejected immediately with a {@link ServiceOverloadedException}.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    // BCrypt only reads this many bytes; the encoder rejects longer passwords
+    public static final int MAX_PASSWORD_BYTES = 72;
+
+    private static final String POOL = "password-hash";
+    private static final String BULK_POOL = "password-hash-bulk";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer bulkEncodeTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.hashing.pool-size:0}") int poolSize,
+                                  @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMs,
+                                  @Value("${app.security.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+                                  @Value("${app.security.hashing.bulk-pool-size:0}") int bulkPoolSize,
+                                  MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        int bulkThreads = bulkPoolSize > 0 ? bulkPoolSize : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(POOL),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Bulk callers submit bounded chunks, so this queue only ever holds one chunk per caller
+        this.bulkExecutor = new ThreadPoolExecutor(bulkThreads, bulkThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory(BULK_POOL));
+
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .tag("pool", POOL)
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("pool", POOL)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .tag("pool", POOL)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.duration")
+                .tag("pool", POOL)
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration")
+                .tag("pool", POOL)
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", bulkExecutor, e -> e.getQueue().size())
+                .tag("pool", BULK_POOL)
+                .register(meterRegistry);
+        this.bulkEncodeTimer = Timer.builder("password.hash.duration")
+                .tag("pool", BULK_POOL)
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .tag("pool", POOL)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes many passwords in parallel on the bulk pool, which is separate from
+     * the interactive pool so imports never starve logins.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Callable<String>> work = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            work.add(() -> bulkEncodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+        }
+
+        try {
+            List<String> hashes = new ArrayList<>(work.size());
+            for (Future<String> future : bulkExecutor.invokeAll(work)) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk password hashing was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Bulk password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * True when the stored hash was produced with a different algorithm or work
+     * factor than the encoder currently in use. Cheap: no hashing is performed.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> work) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Too many concurrent authentication requests", retryAfterSeconds, ex);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Authentication timed out waiting for a hashing thread", retryAfterSeconds, ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Authentication was interrupted", retryAfterSeconds, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.ResourceNotFoundException;
+import com.example.taskmanager.repositories.ProjectRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded projectId to ownerId cache for the ownership checks that guard every
+ * task operation. A hit answers the check without a query; a miss loads only
+ * the owner id rather than the whole project. Only existing projects are
+ * cached, and entries expire after a TTL so changes made on other nodes are
+ * picked up. Changes made here must call {@link #invalidate(Long)}.
+ */
+@Component
+public class ProjectOwnershipCache {
+
+    private final ProjectRepository projectRepository;
+    private final int maxSize;
+    private final Cache<Long, Long> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public ProjectOwnershipCache(ProjectRepository projectRepository,
+                                 @Value("${app.cache.project-ownership.max-size:10000}") int maxSize,
+                                 @Value("${app.cache.project-ownership.ttl:5m}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this(projectRepository, maxSize, ttl, System::nanoTime);
+        FunctionCounter.builder("project.ownership.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("project.ownership.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("project.ownership.cache.size", entries, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    ProjectOwnershipCache(ProjectRepository projectRepository, int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.projectRepository = projectRepository;
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(ttl)
+                .ticker(nanoClock::getAsLong)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * @throws ResourceNotFoundException when the project does not exist or belongs to someone else
+     */
+    public void verifyOwner(Long projectId, Long userId) {
+        Long ownerId = findOwnerId(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        if (!ownerId.equals(userId)) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+    }
+
+    public Optional<Long> findOwnerId(Long projectId) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return projectRepository.findOwnerIdById(projectId);
+        }
+
+        Long cached = entries.getIfPresent(projectId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        // A missing project loads as null, which is not cached
+        return Optional.ofNullable(entries.get(projectId, id -> {
+            misses.increment();
+            return projectRepository.findOwnerIdById(id).orElse(null);
+        }));
+    }
+
+    /**
+     * Drops the entry now and, inside a transaction, again once it completes so
+     * a concurrent reader cannot re-cache the owner it saw before the commit.
+     */
+    public void invalidate(Long projectId) {
+        entries.invalidate(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.invalidate(projectId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+}
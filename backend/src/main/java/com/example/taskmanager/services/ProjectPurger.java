@@ -0,0 +1,121 @@
+package com.example.taskmanager.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Removes projects marked as pending deletion. Tasks are deleted a chunk per
+ * transaction, so no transaction holds more than chunk-size row locks or a
+ * pool connection for long, and the project row goes last (the FK cascade
+ * catches any task inserted meanwhile). All progress lives in the database,
+ * so a purge interrupted by a restart continues on the next run. Runs on its
+ * own thread to keep a large purge from delaying the other scheduled jobs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.projects.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class ProjectPurger {
+
+    private static final String PENDING_SQL =
+            "SELECT id FROM projects WHERE deleted_at IS NOT NULL ORDER BY id LIMIT ?";
+    // SKIP LOCKED lets several instances purge the same project without waiting on each other
+    private static final String DELETE_TASK_CHUNK_SQL =
+            "DELETE FROM tasks WHERE id IN " +
+            "(SELECT id FROM tasks WHERE project_id = ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+    private static final String DELETE_PROJECT_SQL =
+            "DELETE FROM projects WHERE id = ? AND deleted_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int projectsPerRun;
+    private final Counter purgedProjects;
+    private final Counter purgedTasks;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "project-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ProjectPurger(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${app.projects.purge.chunk-size:1000}") int chunkSize,
+                         @Value("${app.projects.purge.projects-per-run:100}") int projectsPerRun,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.projectsPerRun = projectsPerRun;
+        this.purgedProjects = Counter.builder("project.purge.projects").register(meterRegistry);
+        this.purgedTasks = Counter.builder("project.purge.tasks").register(meterRegistry);
+    }
+
+    /**
+     * Hands a run to the purge thread unless one is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${app.projects.purge.interval:10s}",
+               initialDelayString = "${app.projects.purge.initial-delay:30s}")
+    public void schedulePurge() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                purgePending();
+            } catch (RuntimeException e) {
+                log.error("Project purge failed, retrying on the next run", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    void purgePending() {
+        List<Long> projectIds = jdbcTemplate.queryForList(PENDING_SQL, Long.class, projectsPerRun);
+        for (Long projectId : projectIds) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            purge(projectId);
+        }
+    }
+
+    private void purge(Long projectId) {
+        long tasks = 0;
+        int deleted;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            deleted = transactionTemplate.execute(
+                    status -> jdbcTemplate.update(DELETE_TASK_CHUNK_SQL, projectId, chunkSize));
+            tasks += deleted;
+            purgedTasks.increment(deleted);
+        } while (deleted > 0);
+
+        Integer removed = transactionTemplate.execute(status -> jdbcTemplate.update(DELETE_PROJECT_SQL, projectId));
+        if (removed != null && removed > 0) {
+            purgedProjects.increment();
+            log.info("Purged project {} and {} tasks", projectId, tasks);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
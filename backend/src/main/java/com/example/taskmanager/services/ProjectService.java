@@ -1,19 +1,26 @@
 package com.example.taskmanager.services;
 
 import com.example.taskmanager.dtos.CreateProjectRequest;
+import com.example.taskmanager.dtos.CursorPage;
+import com.example.taskmanager.dtos.ProgressDTO;
 import com.example.taskmanager.dtos.ProjectDTO;
+import com.example.taskmanager.exceptions.PreconditionFailedException;
 import com.example.taskmanager.exceptions.ResourceNotFoundException;
 import com.example.taskmanager.models.Project;
 import com.example.taskmanager.models.User;
 import com.example.taskmanager.repositories.ProjectRepository;
+import com.example.taskmanager.repositories.ProjectTaskCounts;
 import com.example.taskmanager.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +31,9 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskTitleSuggester taskTitleSuggester;
 
     public ProjectDTO createProject(Long userId, CreateProjectRequest request) {
         User user = userRepository.findById(userId)
@@ -41,32 +51,103 @@ public class ProjectService {
 
     @Transactional(readOnly = true)
     public Page<ProjectDTO> getUserProjects(Long userId, Pageable pageable) {
-        Page<Project> projects = projectRepository.findByUserId(userId, pageable);
-        return projects.map(this::mapToDTO);
+        return getUserProjects(userId, pageable, false);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProjectDTO> getUserProjects(Long userId, Pageable pageable, boolean includeProgress) {
+        return projectRepository.findByUserId(userId, pageable)
+                .map(project -> withProgress(project, includeProgress));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDTO> getUserProjects(Long userId, String cursor, int size, boolean includeProgress) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = KeysetCursor.limit(size);
+        List<ProjectDTO> rows = after == null
+                ? projectRepository.findFirstPageByUserId(userId, limit)
+                : projectRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        return KeysetCursor.page(rows, size, p -> new KeysetCursor(p.getCreatedAt(), p.getId()),
+                project -> withProgress(project, includeProgress));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressDTO> getProjectsProgress(Long userId, Collection<Long> projectIds) {
+        List<ProjectTaskCounts> counts = projectIds == null || projectIds.isEmpty()
+                ? projectRepository.findTaskCountsByUserId(userId)
+                : projectRepository.findTaskCountsByUserIdAndIdIn(userId, projectIds);
+        return counts.stream()
+                .map(c -> ProgressDTO.of(c.getProjectId(), c.getTotalTasks(), c.getCompletedTasks()))
+                .toList();
     }
 
     @Transactional(readOnly = true)
     public ProjectDTO getProjectById(Long projectId, Long userId) {
-        Project project = projectRepository.findByIdAndUserId(projectId, userId)
+        return projectRepository.findDTOByIdAndUserId(projectId, userId)
+                .map(project -> withProgress(project, false))
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-        return mapToDTO(project);
     }
 
     public ProjectDTO updateProject(Long projectId, Long userId, CreateProjectRequest request) {
-        Project project = projectRepository.findByIdAndUserId(projectId, userId)
+        return updateProject(projectId, userId, request, null);
+    }
+
+    /**
+     * @param ifMatch If-Match header value, or null; when given, the project is locked
+     *                and must still carry one of the listed ETags
+     * @throws PreconditionFailedException when the project has changed since the client read it
+     */
+    public ProjectDTO updateProject(Long projectId, Long userId, CreateProjectRequest request, String ifMatch) {
+        Project project = (ifMatch == null
+                ? projectRepository.findByIdAndUserId(projectId, userId)
+                : projectRepository.findByIdAndUserIdForUpdate(projectId, userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.project(project.getId(), project.getUpdatedAt()))) {
+            throw new PreconditionFailedException("Project has been modified");
+        }
 
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
 
-        Project updatedProject = projectRepository.save(project);
+        // Flushed so @PreUpdate stamps updatedAt before the response and its ETag are built
+        Project updatedProject = projectRepository.saveAndFlush(project);
         return mapToDTO(updatedProject);
     }
 
-    public void deleteProject(Long projectId, Long userId) {
-        Project project = projectRepository.findByIdAndUserId(projectId, userId)
+    @Transactional(readOnly = true)
+    public String getProjectTag(Long projectId, Long userId) {
+        LocalDateTime updatedAt = projectRepository.findUpdatedAt(projectId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-        projectRepository.delete(project);
+        return ETags.project(projectId, updatedAt);
+    }
+
+    /**
+     * ETag for the user's project list; one aggregate query over the user's projects.
+     */
+    @Transactional(readOnly = true)
+    public String getProjectListTag(Long userId) {
+        return ETags.projectList(userId, projectRepository.findListVersion(userId));
+    }
+
+    /**
+     * Marks the project as pending deletion, which hides it and its tasks
+     * immediately. The rows are removed in bounded batches by {@link ProjectPurger}.
+     */
+    public void deleteProject(Long projectId, Long userId) {
+        if (projectRepository.markDeleted(projectId, userId) == 0) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+        projectOwnershipCache.invalidate(projectId);
+        taskSearchIndex.invalidateProject(projectId);
+        taskTitleSuggester.invalidateProject(projectId);
+    }
+
+    // The counters are selected with the row, so progress costs no extra query either way
+    private static ProjectDTO withProgress(ProjectDTO project, boolean includeProgress) {
+        if (!includeProgress) {
+            project.setProgress(null);
+        }
+        return project;
     }
 
     private ProjectDTO mapToDTO(Project project) {
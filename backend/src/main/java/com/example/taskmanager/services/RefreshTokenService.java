@@ -0,0 +1,102 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.UnauthorizedException;
+import com.example.taskmanager.models.RefreshToken;
+import com.example.taskmanager.repositories.RefreshTokenRepository;
+import com.example.taskmanager.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Every refresh is a unique-index lookup,
+ * a primary-key update and one insert on refresh_tokens; users is never read
+ * or locked, since refresh_tokens.user_id has no foreign key. Tokens of
+ * deleted users are removed by the scheduled purge.
+ * Presenting a token that was already used revokes its whole family, since
+ * that means either the client or an attacker holds a stolen copy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.jwt.refresh-expiration:2592000000}")
+    private long refreshExpirationMs;
+
+    public record IssuedToken(String token, Long userId) {
+    }
+
+    @Transactional
+    public IssuedToken issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public IssuedToken rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.getRevokedAt() != null) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        // Checked before markUsed so a rejected token is not consumed and a client retry is not taken for reuse
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens in family {}",
+                    current.getUserId(), revoked, current.getFamilyId());
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        return create(current.getUserId(), current.getFamilyId());
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    public Long getExpirationTime() {
+        return refreshExpirationMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval:1h}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        int orphaned = refreshTokenRepository.deleteOrphaned();
+        log.debug("Purged {} expired refresh tokens and {} of deleted users", deleted, orphaned);
+    }
+
+    private IssuedToken create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = ENCODER.encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(TokenDigests.sha256Hex(rawToken))
+                .expiresAt(LocalDateTime.now().plus(refreshExpirationMs, ChronoUnit.MILLIS))
+                .build());
+        return new IssuedToken(rawToken, userId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes projects.total_tasks / completed_tasks from the tasks table and
+ * repairs any project whose counters have drifted. Projects are processed in
+ * id order, a batch per transaction. Each batch locks its project rows before
+ * counting, so task writes in flight either finish first and are counted or
+ * wait and apply their increment on top of the repaired value.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.tasks.counter-reconciler.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskCounterReconciler {
+
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id FROM projects WHERE id > ? AND deleted_at IS NULL ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String REPAIR_BATCH_SQL =
+            "UPDATE projects p SET total_tasks = c.total, completed_tasks = c.completed, " +
+            "    tasks_version = p.tasks_version + 1 " +
+            "FROM (SELECT p2.id, COUNT(t.id) AS total, COUNT(t.id) FILTER (WHERE t.is_completed) AS completed " +
+            "      FROM projects p2 LEFT JOIN tasks t ON t.project_id = p2.id " +
+            "      WHERE p2.id > ? AND p2.id <= ? AND p2.deleted_at IS NULL GROUP BY p2.id) c " +
+            "WHERE p.id = c.id AND (p.total_tasks <> c.total OR p.completed_tasks <> c.completed)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter repaired;
+
+    public TaskCounterReconciler(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.tasks.counter-reconciler.batch-size:500}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.repaired = Counter.builder("project.task.counters.repaired").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.counter-reconciler.interval:1h}",
+               initialDelayString = "${app.tasks.counter-reconciler.initial-delay:5m}")
+    public void reconcile() {
+        long afterId = 0;
+        int drifted = 0;
+        while (true) {
+            long from = afterId;
+            BatchResult batch = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(LOCK_BATCH_SQL, Long.class, from, batchSize);
+                if (ids.isEmpty()) {
+                    return new BatchResult(from, 0, true);
+                }
+                long lastId = ids.get(ids.size() - 1);
+                int fixed = jdbcTemplate.update(REPAIR_BATCH_SQL, from, lastId);
+                return new BatchResult(lastId, fixed, ids.size() < batchSize);
+            });
+            drifted += batch.repaired();
+            afterId = batch.lastId();
+            if (batch.done()) {
+                break;
+            }
+        }
+
+        if (drifted > 0) {
+            repaired.increment(drifted);
+            log.warn("Repaired task counters on {} projects", drifted);
+        } else {
+            log.debug("Task counters consistent");
+        }
+    }
+
+    private record BatchResult(long lastId, int repaired, boolean done) {
+    }
+}
@@ -0,0 +1,499 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Optional in-process index for the "contains" task search, for single-node
+ * deployments. Each project gets a trigram inverted index whose postings are
+ * sorted int arrays; candidates from the posting intersection are checked
+ * against the lower-cased text, so results are the same as the SQL LIKE path.
+ *
+ * A project is indexed on its first search and then kept current from
+ * TaskService writes once they commit. Cold projects are evicted
+ * least-recently-used to stay within the memory budget. While a project is
+ * being loaded, or when it alone would not fit the budget, search returns
+ * empty and the caller uses the database.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    // Commit callbacks for one task run microseconds apart, so a minute of tombstones is plenty
+    private static final long TOMBSTONE_TTL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long oversizedRetryNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Long, ProjectIndex> projects = new ConcurrentHashMap<>();
+    // Projects that did not fit the budget, with the time after which to try loading them again
+    private final Map<Long, Long> oversized = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong accessClock = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final Counter builds;
+    private final Counter evictions;
+    private final Counter oversizedBuilds;
+
+    @Autowired
+    public TaskSearchIndex(@Value("${app.search.in-memory.enabled:false}") boolean enabled,
+                           @Value("${app.search.in-memory.max-size:256MB}") DataSize maxSize,
+                           @Value("${app.search.in-memory.oversized-retry:10m}") Duration oversizedRetry,
+                           MeterRegistry meterRegistry) {
+        this(enabled, maxSize, oversizedRetry, meterRegistry, System::nanoTime);
+    }
+
+    TaskSearchIndex(boolean enabled, DataSize maxSize, Duration oversizedRetry, MeterRegistry meterRegistry,
+                    LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+        this.oversizedRetryNanos = oversizedRetry.toNanos();
+        this.nanoClock = nanoClock;
+        this.builds = Counter.builder("task.search.index.builds").register(meterRegistry);
+        this.evictions = Counter.builder("task.search.index.evictions").register(meterRegistry);
+        this.oversizedBuilds = Counter.builder("task.search.index.oversized").register(meterRegistry);
+        Gauge.builder("task.search.index.projects", projects, Map::size).register(meterRegistry);
+        Gauge.builder("task.search.index.bytes", usedBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Case-insensitive substring search over title and description, in task id order.
+     *
+     * @param loader all tasks of the project, used when the project is not indexed yet
+     * @return empty while the project is being loaded or when it does not fit the memory budget
+     */
+    public Optional<Page<TaskDTO>> search(Long projectId, String term, Pageable pageable,
+                                          Supplier<List<TaskDTO>> loader) {
+        ProjectIndex index = projects.get(projectId);
+        if (index == null) {
+            index = build(projectId, loader);
+        }
+        if (index == null || !index.ready) {
+            return Optional.empty();
+        }
+        index.lastAccess = accessClock.incrementAndGet();
+        return Optional.of(index.search(term.toLowerCase(Locale.ROOT), pageable));
+    }
+
+    public void taskSaved(TaskDTO task) {
+        IndexedTask indexed = IndexedTask.of(task);
+        afterCommit(() -> update(task.getProjectId(), index -> index.upsert(indexed, nanoClock.getAsLong())));
+    }
+
+    public void taskDeleted(Long projectId, Long taskId) {
+        afterCommit(() -> update(projectId, index -> index.remove(taskId, nanoClock.getAsLong())));
+    }
+
+    /**
+     * Drops a project's index, for writes that are not applied incrementally
+     * (bulk updates, project deletion). It is rebuilt on the next search.
+     */
+    public void invalidateProject(Long projectId) {
+        afterCommit(() -> {
+            oversized.remove(projectId);
+            ProjectIndex index = projects.get(projectId);
+            if (index != null) {
+                drop(projectId, index);
+            }
+        });
+    }
+
+    public int indexedProjects() {
+        return projects.size();
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Loads a project into an index that is published before the load starts,
+     * so writes committing meanwhile are applied to it. Loaded rows never undo
+     * them: upsert keeps the newer version and tombstones keep deletes.
+     *
+     * @return the ready index, or null if another search is loading the project, it does not
+     *         fit the budget, or it was dropped while loading
+     */
+    private ProjectIndex build(Long projectId, Supplier<List<TaskDTO>> loader) {
+        long now = nanoClock.getAsLong();
+        Long retryAt = oversized.get(projectId);
+        if (retryAt != null) {
+            if (now - retryAt < 0) {
+                return null;
+            }
+            oversized.remove(projectId, retryAt);
+        }
+
+        ProjectIndex index = new ProjectIndex();
+        index.lastAccess = accessClock.incrementAndGet();
+        if (projects.putIfAbsent(projectId, index) != null) {
+            return null;
+        }
+
+        // Under read committed the load sees every write whose commit callback ran before the put
+        for (TaskDTO task : loader.get()) {
+            IndexedTask indexed = IndexedTask.of(task);
+            usedBytes.addAndGet(index.apply(building -> building.upsert(indexed, now)));
+            if (index.retired) {
+                return null;
+            }
+            if (index.bytes() > maxBytes) {
+                // It would evict every other project and still not fit
+                drop(projectId, index);
+                markOversized(projectId);
+                return null;
+            }
+        }
+        index.ready = true;
+        builds.increment();
+        evictIfNeeded(projectId);
+        log.debug("Indexed {} tasks of project {} ({} bytes)", index.liveCount, projectId, index.bytes);
+        return index;
+    }
+
+    private void markOversized(Long projectId) {
+        long now = nanoClock.getAsLong();
+        // Entries are added after a full load at most once per retry interval, so pruning here is cheap
+        oversized.values().removeIf(retryAt -> now - retryAt >= 0);
+        oversized.put(projectId, now + oversizedRetryNanos);
+        oversizedBuilds.increment();
+        log.debug("Project {} does not fit the search index budget, searching it in the database", projectId);
+    }
+
+    private void update(Long projectId, IndexUpdate update) {
+        ProjectIndex index = projects.get(projectId);
+        if (index != null) {
+            usedBytes.addAndGet(index.apply(update));
+            evictIfNeeded(projectId);
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (enabled) {
+            AfterCommit.run(change);
+        }
+    }
+
+    private void evictIfNeeded(Long keep) {
+        if (usedBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (usedBytes.get() > maxBytes) {
+                Map.Entry<Long, ProjectIndex> coldest = projects.entrySet().stream()
+                        .filter(entry -> !entry.getKey().equals(keep))
+                        .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                        .orElse(null);
+                if (coldest == null) {
+                    return;
+                }
+                drop(coldest.getKey(), coldest.getValue());
+                evictions.increment();
+            }
+        }
+    }
+
+    private void drop(Long projectId, ProjectIndex index) {
+        if (projects.remove(projectId, index)) {
+            usedBytes.addAndGet(-index.retire());
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        /**
+         * @return the change in the index's estimated size, in bytes
+         */
+        long applyTo(ProjectIndex index);
+    }
+
+    private record IndexedTask(TaskDTO task, String title, String description) {
+
+        static IndexedTask of(TaskDTO task) {
+            return new IndexedTask(task,
+                    task.getTitle() == null ? "" : task.getTitle().toLowerCase(Locale.ROOT),
+                    task.getDescription() == null ? null : task.getDescription().toLowerCase(Locale.ROOT));
+        }
+
+        boolean contains(String needle) {
+            return title.contains(needle) || (description != null && description.contains(needle));
+        }
+
+        long estimatedBytes() {
+            // Original and lower-cased copies of the text plus DTO and map-entry overhead
+            int chars = title.length() + (description == null ? 0 : description.length());
+            return 4L * chars + 256;
+        }
+    }
+
+    private static final class Postings {
+        private static final long OVERHEAD_BYTES = 80;
+
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    /**
+     * One project's documents and postings. Doc numbers only grow, so every
+     * posting list stays sorted; removed documents leave a null slot that is
+     * skipped and reclaimed by compaction.
+     */
+    private static final class ProjectIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private IndexedTask[] docs = new IndexedTask[16];
+        private int docCount;
+        private int liveCount;
+        private final Map<Long, Integer> docByTaskId = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        // Task ids are never reused, so a late upsert for a deleted task must not revive it.
+        // Maps each tombstone to its deletion time, oldest first, and expires them after a while
+        private final LinkedHashMap<Long, Long> deletedTaskIds = new LinkedHashMap<>();
+        private volatile boolean retired;
+        private long bytes;
+        volatile boolean ready;
+        volatile long lastAccess;
+
+        long apply(IndexUpdate update) {
+            lock.writeLock().lock();
+            try {
+                return retired ? 0 : update.applyTo(this);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long retire() {
+            lock.writeLock().lock();
+            try {
+                retired = true;
+                return bytes;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long bytes() {
+            lock.readLock().lock();
+            try {
+                return bytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long upsert(IndexedTask task, long now) {
+            Long taskId = task.task().getId();
+            if (deletedTaskIds.containsKey(taskId)) {
+                return 0;
+            }
+            long before = bytes;
+            expireTombstones(now);
+            Integer existing = docByTaskId.get(taskId);
+            if (existing != null) {
+                IndexedTask current = docs[existing];
+                // Commit callbacks can run out of order; never replace a newer version
+                if (isOlder(task.task(), current.task())) {
+                    return 0;
+                }
+                clear(existing);
+            }
+            add(task);
+            compactIfSparse();
+            return bytes - before;
+        }
+
+        long remove(Long taskId, long now) {
+            long before = bytes;
+            expireTombstones(now);
+            if (deletedTaskIds.putIfAbsent(taskId, now) == null) {
+                bytes += 16;
+            }
+            Integer doc = docByTaskId.get(taskId);
+            if (doc != null) {
+                clear(doc);
+                compactIfSparse();
+            }
+            return bytes - before;
+        }
+
+        Page<TaskDTO> search(String needle, Pageable pageable) {
+            lock.readLock().lock();
+            try {
+                List<TaskDTO> matches = new ArrayList<>();
+                if (needle.length() < 3) {
+                    // Too short for a trigram: scan, like the database does
+                    for (int doc = 0; doc < docCount; doc++) {
+                        collect(doc, needle, matches);
+                    }
+                } else {
+                    for (int doc : candidates(needle)) {
+                        collect(doc, needle, matches);
+                    }
+                }
+
+                // Updated and concurrently loaded tasks take new slots, so slot order is not id order
+                matches.sort(Comparator.comparing(TaskDTO::getId));
+                int from = (int) Math.min(pageable.getOffset(), matches.size());
+                int to = Math.min(from + pageable.getPageSize(), matches.size());
+                return new PageImpl<>(new ArrayList<>(matches.subList(from, to)), pageable, matches.size());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void collect(int doc, String needle, List<TaskDTO> matches) {
+            IndexedTask task = docs[doc];
+            if (task != null && task.contains(needle)) {
+                matches.add(task.task());
+            }
+        }
+
+        private int[] candidates(String needle) {
+            Set<Long> grams = trigrams(needle);
+            List<Postings> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+            int size = result.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = intersect(result, size, lists.get(i));
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        // Intersects the first size entries of result with other in place, returning the new size
+        private static int intersect(int[] result, int size, Postings other) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                int doc = result[i];
+                while (j < other.size && other.docs[j] < doc) {
+                    j++;
+                }
+                if (j < other.size && other.docs[j] == doc) {
+                    result[kept++] = doc;
+                }
+            }
+            return kept;
+        }
+
+        private void add(IndexedTask task) {
+            if (docCount == docs.length) {
+                docs = Arrays.copyOf(docs, docCount * 2);
+            }
+            int doc = docCount++;
+            docs[doc] = task;
+            docByTaskId.put(task.task().getId(), doc);
+            liveCount++;
+            bytes += task.estimatedBytes();
+
+            Set<Long> grams = trigrams(task.title());
+            if (task.description() != null) {
+                grams.addAll(trigrams(task.description()));
+            }
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(gram, list);
+                    bytes += Postings.OVERHEAD_BYTES;
+                }
+                list.add(doc);
+                bytes += 4;
+            }
+        }
+
+        private void clear(int doc) {
+            IndexedTask task = docs[doc];
+            docs[doc] = null;
+            docByTaskId.remove(task.task().getId());
+            liveCount--;
+            // Postings still reference the slot until compaction; only the text is released
+            bytes -= task.estimatedBytes();
+        }
+
+        private void expireTombstones(long now) {
+            // Rows loaded while building may predate any delete, so tombstones are kept until then
+            if (!ready) {
+                return;
+            }
+            Iterator<Long> deletedAt = deletedTaskIds.values().iterator();
+            while (deletedAt.hasNext() && now - deletedAt.next() > TOMBSTONE_TTL_NANOS) {
+                deletedAt.remove();
+                bytes -= 16;
+            }
+        }
+
+        private void compactIfSparse() {
+            if (docCount < 64 || liveCount * 2 > docCount) {
+                return;
+            }
+            List<IndexedTask> live = new ArrayList<>(liveCount);
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docs[doc] != null) {
+                    live.add(docs[doc]);
+                }
+            }
+            docs = new IndexedTask[Math.max(16, live.size() * 2)];
+            docCount = 0;
+            liveCount = 0;
+            docByTaskId.clear();
+            postings.clear();
+            bytes = 16L * deletedTaskIds.size();
+            live.forEach(this::add);
+        }
+
+        private static boolean isOlder(TaskDTO candidate, TaskDTO current) {
+            return candidate.getUpdatedAt() != null && current.getUpdatedAt() != null
+                    && candidate.getUpdatedAt().isBefore(current.getUpdatedAt());
+        }
+
+        private static Set<Long> trigrams(String text) {
+            Set<Long> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+            }
+            return grams;
+        }
+    }
+}
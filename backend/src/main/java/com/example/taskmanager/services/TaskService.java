@@ -1,19 +1,41 @@
 package com.example.taskmanager.services;
 
+import com.example.taskmanager.dtos.BulkTaskRequest;
+import com.example.taskmanager.dtos.BulkTaskResponse;
 import com.example.taskmanager.dtos.CreateTaskRequest;
+import com.example.taskmanager.dtos.CursorPage;
 import com.example.taskmanager.dtos.ProgressDTO;
+import com.example.taskmanager.dtos.SlicePage;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.dtos.TaskFilter;
+import com.example.taskmanager.dtos.TaskSearchMode;
+import com.example.taskmanager.exceptions.BadRequestException;
+import com.example.taskmanager.exceptions.PreconditionFailedException;
 import com.example.taskmanager.exceptions.ResourceNotFoundException;
 import com.example.taskmanager.models.Project;
 import com.example.taskmanager.models.Task;
 import com.example.taskmanager.repositories.ProjectRepository;
+import com.example.taskmanager.repositories.ProjectTaskCounts;
 import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.repositories.TaskSelection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -21,105 +43,421 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskTitleSuggester taskTitleSuggester;
 
     public TaskDTO createTask(Long projectId, Long userId, CreateTaskRequest request) {
-        Project project = projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        projectOwnershipCache.verifyOwner(projectId, userId);
 
         Task task = Task.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .isCompleted(false)
-                .project(project)
+                .project(projectRepository.getReferenceById(projectId))
                 .build();
 
         Task savedTask = taskRepository.save(task);
-        return mapToDTO(savedTask);
+        addCreatedTasks(projectId, 1);
+        return indexed(mapToDTO(savedTask));
+    }
+
+    /**
+     * Creates all tasks in one transaction. Ids come from the pooled sequence,
+     * so the inserts go out as JDBC batches rather than one round trip each.
+     */
+    public List<TaskDTO> createTasks(Long projectId, Long userId, List<CreateTaskRequest> requests) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        Project project = projectRepository.getReferenceById(projectId);
+        List<Task> tasks = requests.stream()
+                .map(request -> Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .dueDate(request.getDueDate())
+                        .isCompleted(false)
+                        .project(project)
+                        .build())
+                .toList();
+
+        List<TaskDTO> created = taskRepository.saveAll(tasks).stream()
+                .map(this::mapToDTO)
+                .toList();
+        addCreatedTasks(projectId, created.size());
+        bulkChanged(projectId);
+        return created;
     }
 
     @Transactional(readOnly = true)
     public Page<TaskDTO> getProjectTasks(Long projectId, Long userId, Pageable pageable) {
-        // Verify project exists and belongs to user
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        return taskRepository.findByProjectId(projectId, pageable);
+    }
+
+    /**
+     * Task page with only the given fields, selected in SQL.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getProjectTasks(Long projectId, Long userId, Set<TaskField> fields,
+                                                     Pageable pageable) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
 
-        return taskRepository.findByProjectId(projectId, pageable)
-                .map(this::mapToDTO);
+        return taskRepository.findFields(projectId, null, fields, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> getProjectTasks(Long projectId, Long userId, String cursor, int size) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = KeysetCursor.limit(size);
+        List<TaskDTO> rows = after == null
+                ? taskRepository.findFirstPageByProjectId(projectId, limit)
+                : taskRepository.findPageByProjectIdAfter(projectId, after.createdAt(), after.id(), limit);
+        return KeysetCursor.page(rows, size, t -> new KeysetCursor(t.getCreatedAt(), t.getId()), Function.identity());
     }
 
     @Transactional(readOnly = true)
     public Page<TaskDTO> searchTasks(Long projectId, Long userId, String searchTerm, Pageable pageable) {
-        // Verify project exists and belongs to user
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        return searchTasks(projectId, userId, searchTerm, TaskSearchMode.CONTAINS, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> searchTasks(Long projectId, Long userId, String searchTerm,
+                                     TaskSearchMode mode, Pageable pageable) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
 
-        return taskRepository.searchTasks(projectId, searchTerm, pageable)
-                .map(this::mapToDTO);
+        if (mode == TaskSearchMode.CONTAINS && taskSearchIndex.isEnabled()) {
+            Optional<Page<TaskDTO>> indexed = searchIndex(projectId, searchTerm, pageable);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+
+        // Full-text search is native SQL and still maps entities
+        return mode == TaskSearchMode.FULLTEXT
+                ? taskRepository.fullTextSearch(projectId, searchTerm, pageable).map(this::mapToDTO)
+                : taskRepository.searchTasks(projectId, containsPattern(searchTerm), pageable);
     }
 
+    /**
+     * Search page with only the given fields. The database contains search selects just
+     * those columns; full-text and in-memory results are trimmed after the search.
+     */
     @Transactional(readOnly = true)
-    public TaskDTO getTaskById(Long taskId, Long projectId, Long userId) {
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public Page<Map<String, Object>> searchTasks(Long projectId, Long userId, String searchTerm,
+                                                 TaskSearchMode mode, Set<TaskField> fields, Pageable pageable) {
+        if (mode != TaskSearchMode.CONTAINS || taskSearchIndex.isEnabled()) {
+            return searchTasks(projectId, userId, searchTerm, mode, pageable)
+                    .map(task -> TaskField.valuesOf(task, fields));
+        }
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        return taskRepository.findFields(projectId, containsPattern(searchTerm), fields, pageable);
+    }
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    @Transactional(readOnly = true)
+    public SlicePage<TaskDTO> getProjectTaskSlice(Long projectId, Long userId, Pageable pageable, boolean includeTotal) {
+        Long total = null;
+        if (includeTotal) {
+            // The stored counter doubles as the ownership check, so the total costs nothing extra
+            total = projectRepository.findTaskCounts(projectId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found"))
+                    .getTotalTasks();
+        } else {
+            projectOwnershipCache.verifyOwner(projectId, userId);
+        }
 
-        return mapToDTO(task);
+        return toSlicePage(taskRepository.findSliceByProjectId(projectId, pageable), total);
+    }
+
+    @Transactional(readOnly = true)
+    public SlicePage<TaskDTO> searchTaskSlice(Long projectId, Long userId, String searchTerm,
+                                              TaskSearchMode mode, Pageable pageable) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        if (mode == TaskSearchMode.CONTAINS && taskSearchIndex.isEnabled()) {
+            Optional<Page<TaskDTO>> indexed = searchIndex(projectId, searchTerm, pageable);
+            if (indexed.isPresent()) {
+                Page<TaskDTO> page = indexed.get();
+                return SlicePage.<TaskDTO>builder()
+                        .content(page.getContent())
+                        .page(pageable.getPageNumber())
+                        .size(pageable.getPageSize())
+                        .hasNext(page.hasNext())
+                        .build();
+            }
+        }
+
+        Slice<TaskDTO> tasks = mode == TaskSearchMode.FULLTEXT
+                ? taskRepository.fullTextSearchSlice(projectId, searchTerm, pageable).map(this::mapToDTO)
+                : taskRepository.searchTasksSlice(projectId, containsPattern(searchTerm), pageable);
+        return toSlicePage(tasks, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> findSimilarTasks(Long projectId, Long userId, String term, int limit) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        return taskRepository.findSimilarTitles(projectId, term, limit).stream()
+                .map(this::mapToDTO)
+                .toList();
+    }
+
+    // Called per keystroke and mostly answered from memory, so only a cache miss should take a pooled connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> suggestTaskTitles(Long projectId, Long userId, String prefix, int limit) {
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return taskTitleSuggester.suggest(projectId, prefix, limit,
+                () -> taskRepository.findTitlesByProjectId(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskDTO getTaskById(Long taskId, Long projectId, Long userId) {
+        return taskRepository.findOwnedTaskDTO(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(projectId, userId));
     }
 
     public TaskDTO updateTask(Long taskId, Long projectId, Long userId, CreateTaskRequest request) {
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        return updateTask(taskId, projectId, userId, request, null);
+    }
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    /**
+     * @param ifMatch If-Match header value, or null; when given, the task is locked
+     *                and must still carry one of the listed ETags
+     * @throws PreconditionFailedException when the task has changed since the client read it
+     */
+    public TaskDTO updateTask(Long taskId, Long projectId, Long userId, CreateTaskRequest request, String ifMatch) {
+        Task task;
+        if (ifMatch == null) {
+            task = findOwnedTask(taskId, projectId, userId);
+        } else {
+            task = taskRepository.findOwnedTaskForUpdate(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(projectId, userId));
+            if (!ETags.matches(ifMatch, ETags.task(task.getId(), task.getUpdatedAt()))) {
+                throw new PreconditionFailedException("Task has been modified");
+            }
+        }
 
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
 
         Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+        projectRepository.bumpTasksVersion(projectId);
+        return indexed(mapToDTO(updatedTask));
     }
 
     public TaskDTO completeTask(Long taskId, Long projectId, Long userId) {
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        Task task = taskRepository.findOwnedTaskForUpdate(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(projectId, userId));
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        if (Boolean.TRUE.equals(task.getIsCompleted())) {
+            return mapToDTO(task);
+        }
 
         task.setIsCompleted(true);
         Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+        projectRepository.adjustTaskCounters(projectId, 0, 1);
+        return indexed(mapToDTO(updatedTask));
     }
 
     public void deleteTask(Long taskId, Long projectId, Long userId) {
-        projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        // Locked so a concurrent completion can't change isCompleted between this read and
+        // the counter update below
+        Task task = taskRepository.findOwnedTaskForUpdate(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(projectId, userId));
 
         taskRepository.delete(task);
+        projectRepository.adjustTaskCounters(projectId, -1, Boolean.TRUE.equals(task.getIsCompleted()) ? -1 : 0);
+        taskSearchIndex.taskDeleted(projectId, taskId);
+        taskTitleSuggester.taskDeleted(projectId, taskId);
+    }
+
+    public BulkTaskResponse bulkCompleteTasks(Long projectId, Long userId, BulkTaskRequest request) {
+        return bulkSetCompleted(projectId, userId, request, true);
+    }
+
+    public BulkTaskResponse bulkReopenTasks(Long projectId, Long userId, BulkTaskRequest request) {
+        return bulkSetCompleted(projectId, userId, request, false);
+    }
+
+    public BulkTaskResponse bulkMoveTasks(Long projectId, Long userId, BulkTaskRequest request) {
+        Long targetProjectId = request.getTargetProjectId();
+        if (targetProjectId == null) {
+            throw new BadRequestException("targetProjectId is required");
+        }
+        if (targetProjectId.equals(projectId)) {
+            throw new BadRequestException("Tasks are already in this project");
+        }
+        TaskSelection selection = toSelection(request);
+        projectOwnershipCache.verifyOwner(projectId, userId);
+        projectOwnershipCache.verifyOwner(targetProjectId, userId);
+
+        int completed = selection.includes(true)
+                ? taskRepository.bulkMove(projectId, userId, selection, true, targetProjectId) : 0;
+        int open = selection.includes(false)
+                ? taskRepository.bulkMove(projectId, userId, selection, false, targetProjectId) : 0;
+        int moved = completed + open;
+        if (moved > 0) {
+            // Always lock the lower project id first so opposite moves cannot deadlock
+            if (projectId < targetProjectId) {
+                projectRepository.adjustTaskCounters(projectId, -moved, -completed);
+                projectRepository.adjustTaskCounters(targetProjectId, moved, completed);
+            } else {
+                projectRepository.adjustTaskCounters(targetProjectId, moved, completed);
+                projectRepository.adjustTaskCounters(projectId, -moved, -completed);
+            }
+            bulkChanged(projectId);
+            bulkChanged(targetProjectId);
+        }
+        return new BulkTaskResponse(moved);
+    }
+
+    public BulkTaskResponse bulkDeleteTasks(Long projectId, Long userId, BulkTaskRequest request) {
+        TaskSelection selection = toSelection(request);
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        int completed = selection.includes(true)
+                ? taskRepository.bulkDelete(projectId, userId, selection, true) : 0;
+        int open = selection.includes(false)
+                ? taskRepository.bulkDelete(projectId, userId, selection, false) : 0;
+        int deleted = completed + open;
+        if (deleted > 0) {
+            projectRepository.adjustTaskCounters(projectId, -deleted, -completed);
+            bulkChanged(projectId);
+        }
+        return new BulkTaskResponse(deleted);
+    }
+
+    /**
+     * ETag shared by the task list and progress of a project; one query on the project row.
+     */
+    @Transactional(readOnly = true)
+    public String getTaskListTag(Long projectId, Long userId) {
+        Long version = projectRepository.findTasksVersion(projectId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+        return ETags.taskList(projectId, version);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTaskTag(Long taskId, Long projectId, Long userId) {
+        LocalDateTime updatedAt = taskRepository.findOwnedTaskUpdatedAt(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(projectId, userId));
+        return ETags.task(taskId, updatedAt);
     }
 
     @Transactional(readOnly = true)
     public ProgressDTO getProjectProgress(Long projectId, Long userId) {
-        projectRepository.findByIdAndUserId(projectId, userId)
+        ProjectTaskCounts counts = projectRepository.findTaskCounts(projectId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
-        Long totalTasks = taskRepository.countTotalTasks(projectId);
-        Long completedTasks = taskRepository.countCompletedTasks(projectId);
+        return ProgressDTO.of(projectId, counts.getTotalTasks(), counts.getCompletedTasks());
+    }
+
+    private BulkTaskResponse bulkSetCompleted(Long projectId, Long userId, BulkTaskRequest request, boolean completed) {
+        TaskSelection selection = toSelection(request);
+        projectOwnershipCache.verifyOwner(projectId, userId);
+
+        // Only rows in the opposite state change, so the count is exactly the counter delta
+        int changed = selection.includes(!completed)
+                ? taskRepository.bulkSetCompleted(projectId, userId, selection, completed) : 0;
+        if (changed > 0) {
+            projectRepository.adjustTaskCounters(projectId, 0, completed ? changed : -changed);
+            bulkChanged(projectId);
+        }
+        return new BulkTaskResponse(changed);
+    }
+
+    private static TaskSelection toSelection(BulkTaskRequest request) {
+        boolean byIds = request.getTaskIds() != null;
+        if (byIds == (request.getFilter() != null)) {
+            throw new BadRequestException("Exactly one of taskIds or filter is required");
+        }
+        if (byIds) {
+            if (request.getTaskIds().isEmpty()) {
+                throw new BadRequestException("taskIds must not be empty");
+            }
+            return new TaskSelection(request.getTaskIds(), null, null);
+        }
+        TaskFilter filter = request.getFilter();
+        return new TaskSelection(null, filter.getCompleted(), filter.getDueBefore());
+    }
 
-        Double progressPercentage = totalTasks > 0 ? (completedTasks.doubleValue() / totalTasks.doubleValue()) * 100 : 0.0;
+    // Bulk writes bypass the per-task hooks, so the in-memory views reload the project
+    private void bulkChanged(Long projectId) {
+        taskSearchIndex.invalidateProject(projectId);
+        taskTitleSuggester.invalidateProject(projectId);
+    }
+
+    /**
+     * Counts new tasks into the project. The ownership check may have been answered
+     * by a cached entry for a project that another node has since deleted: the
+     * counter update then matches no row or, once the project row is purged, the
+     * flushed inserts fail its foreign key. Both become a 404, not a 500.
+     */
+    private void addCreatedTasks(Long projectId, int created) {
+        int updated;
+        try {
+            updated = projectRepository.adjustTaskCounters(projectId, created, 0);
+        } catch (DataIntegrityViolationException ex) {
+            throw projectGone(projectId);
+        }
+        if (updated == 0) {
+            throw projectGone(projectId);
+        }
+    }
+
+    private ResourceNotFoundException projectGone(Long projectId) {
+        projectOwnershipCache.invalidate(projectId);
+        return new ResourceNotFoundException("Project not found");
+    }
+
+    private Task findOwnedTask(Long taskId, Long projectId, Long userId) {
+        return taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(projectId, userId));
+    }
+
+    private ResourceNotFoundException taskNotFound(Long projectId, Long userId) {
+        // Only a miss pays for the second lookup that tells the two 404s apart
+        projectOwnershipCache.verifyOwner(projectId, userId);
+        return new ResourceNotFoundException("Task not found");
+    }
+
+    // Results come back in task id order; the requested sort only applies to the SQL path, which
+    // also serves projects the index is still loading or can't hold
+    private Optional<Page<TaskDTO>> searchIndex(Long projectId, String searchTerm, Pageable pageable) {
+        return taskSearchIndex.search(projectId, searchTerm, pageable,
+                () -> taskRepository.findAllByProjectIdOrderById(projectId));
+    }
+
+    private TaskDTO indexed(TaskDTO task) {
+        taskSearchIndex.taskSaved(task);
+        taskTitleSuggester.taskSaved(task.getProjectId(), task.getId(), task.getTitle());
+        return task;
+    }
+
+    // The term is matched literally: LIKE wildcards typed by the user are escaped
+    static String containsPattern(String term) {
+        String escaped = term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 
-        return ProgressDTO.builder()
-                .totalTasks(totalTasks)
-                .completedTasks(completedTasks)
-                .progressPercentage(progressPercentage)
+    private SlicePage<TaskDTO> toSlicePage(Slice<TaskDTO> slice, Long totalElements) {
+        return SlicePage.<TaskDTO>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .totalElements(totalElements)
                 .build();
     }
 
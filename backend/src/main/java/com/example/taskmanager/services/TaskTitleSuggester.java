@@ -0,0 +1,170 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.repositories.TaskTitle;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Title completions for the search box, answered from memory. Each project's
+ * titles are kept in a skip list ordered by lower-cased title, so a prefix
+ * lookup is a seek followed by a short scan and a write is a logarithmic
+ * insert that readers never block on.
+ *
+ * A project is loaded on its first lookup and then kept current from
+ * TaskService writes once they commit; a write committing while its project
+ * loads waits for the load and is applied to the result. Projects expire a TTL
+ * after loading so writes made on other nodes are picked up.
+ */
+@Component
+public class TaskTitleSuggester {
+
+    private final Cache<Long, Titles> projects;
+    private final LongAdder loads = new LongAdder();
+
+    @Autowired
+    public TaskTitleSuggester(@Value("${app.search.suggest.max-projects:10000}") int maxProjects,
+                              @Value("${app.search.suggest.ttl:10m}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this(maxProjects, ttl, System::nanoTime);
+        FunctionCounter.builder("task.suggest.loads", loads, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.projects", projects, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    TaskTitleSuggester(int maxProjects, Duration ttl, LongSupplier nanoClock) {
+        this.projects = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxProjects, 0))
+                // Counted from the load, not the last write, so busy projects still pick up other nodes' writes
+                .expireAfter(Expiry.creating((Long projectId, Titles titles) -> ttl))
+                .ticker(nanoClock::getAsLong)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Distinct titles starting with the prefix, ignoring case, in alphabetical order.
+     *
+     * @param loader the project's task titles, used when the project is not loaded yet
+     */
+    public List<String> suggest(Long projectId, String prefix, int limit, Supplier<List<TaskTitle>> loader) {
+        Titles titles = projects.get(projectId, id -> {
+            loads.increment();
+            return Titles.of(loader.get());
+        });
+        return titles.complete(prefix.toLowerCase(Locale.ROOT), limit);
+    }
+
+    public void taskSaved(Long projectId, Long taskId, String title) {
+        AfterCommit.run(() -> update(projectId, titles -> titles.put(taskId, title)));
+    }
+
+    public void taskDeleted(Long projectId, Long taskId) {
+        AfterCommit.run(() -> update(projectId, titles -> titles.remove(taskId)));
+    }
+
+    /**
+     * Drops a project's titles, for writes that are not applied one task at a
+     * time. They are reloaded on the next lookup.
+     */
+    public void invalidateProject(Long projectId) {
+        AfterCommit.run(() -> projects.invalidate(projectId));
+    }
+
+    // compute rather than computeIfPresent: it waits for a load in progress instead of skipping it
+    private void update(Long projectId, UnaryOperator<Titles> change) {
+        projects.asMap().compute(projectId, (id, titles) -> titles == null ? null : change.apply(titles));
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long size() {
+        return projects.estimatedSize();
+    }
+
+    private record TitleKey(String key, long taskId) implements Comparable<TitleKey> {
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int cmp = key.compareTo(other.key);
+            return cmp != 0 ? cmp : Long.compare(taskId, other.taskId);
+        }
+    }
+
+    /**
+     * One project's titles. Writers are serialized by the cache's compute on the
+     * project; readers scan the skip list without locking.
+     */
+    private static final class Titles {
+        private final ConcurrentSkipListMap<TitleKey, String> byKey = new ConcurrentSkipListMap<>();
+        private final Map<Long, TitleKey> keyByTaskId = new ConcurrentHashMap<>();
+
+        static Titles of(List<TaskTitle> rows) {
+            Titles titles = new Titles();
+            for (TaskTitle row : rows) {
+                titles.put(row.getId(), row.getTitle());
+            }
+            return titles;
+        }
+
+        List<String> complete(String prefix, int limit) {
+            List<String> matches = new ArrayList<>(limit);
+            String previous = null;
+            for (Map.Entry<TitleKey, String> entry : byKey.tailMap(new TitleKey(prefix, Long.MIN_VALUE)).entrySet()) {
+                String key = entry.getKey().key();
+                if (matches.size() >= limit || !key.startsWith(prefix)) {
+                    break;
+                }
+                // Equal keys are adjacent, so titles differing only in case collapse to the first
+                if (!key.equals(previous)) {
+                    matches.add(entry.getValue());
+                    previous = key;
+                }
+            }
+            return matches;
+        }
+
+        Titles put(long taskId, String title) {
+            TitleKey key = new TitleKey(key(title), taskId);
+            TitleKey previous = keyByTaskId.put(taskId, key);
+            if (previous != null) {
+                byKey.remove(previous);
+            }
+            byKey.put(key, title == null ? "" : title);
+            return this;
+        }
+
+        Titles remove(long taskId) {
+            TitleKey key = keyByTaskId.remove(taskId);
+            if (key != null) {
+                byKey.remove(key);
+            }
+            return this;
+        }
+
+        private static String key(String title) {
+            return title == null ? "" : title.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.BulkProvisionResponse;
+import com.example.taskmanager.dtos.ProvisionUserRequest;
+import com.example.taskmanager.dtos.ProvisionUserResult;
+import com.example.taskmanager.dtos.ProvisionUserResult.Status;
+import com.example.taskmanager.repositories.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in bulk: duplicate emails are found with one set-based query
+ * per chunk, passwords are hashed in parallel on the bulk hashing pool, and
+ * rows are written with multi-row INSERT statements rather than one entity save
+ * each.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+    private static final String INSERT_USERS_SQL =
+            "INSERT INTO users (email, password_hash, full_name, created_at, updated_at) VALUES ";
+    private static final String INSERT_USER_VALUES = "(?, ?, ?, ?, ?)";
+    // RETURNING names the rows actually written; batch update counts can't, because
+    // with reWriteBatchedInserts the driver reports SUCCESS_NO_INFO for every row
+    private static final String INSERT_USERS_RETURNING = " ON CONFLICT (email) DO NOTHING RETURNING email";
+    // 5 parameters per row stays well below PostgreSQL's 65535 bind parameter limit
+    static final int ROWS_PER_INSERT = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${app.admin.provisioning.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkProvisionResponse provisionUsers(List<ProvisionUserRequest> requests) {
+        long start = System.currentTimeMillis();
+        ProvisionUserResult[] results = new ProvisionUserResult[requests.size()];
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            provisionChunk(requests, from, to, seenEmails, results);
+        }
+
+        List<ProvisionUserResult> resultList = Arrays.asList(results);
+        Map<Status, Long> counts = resultList.stream()
+                .collect(Collectors.groupingBy(ProvisionUserResult::getStatus, Collectors.counting()));
+
+        BulkProvisionResponse response = BulkProvisionResponse.builder()
+                .created(counts.getOrDefault(Status.CREATED, 0L).intValue())
+                .duplicates(counts.getOrDefault(Status.DUPLICATE, 0L).intValue())
+                .invalid(counts.getOrDefault(Status.INVALID, 0L).intValue())
+                .elapsedMs(System.currentTimeMillis() - start)
+                .results(resultList)
+                .build();
+
+        log.info("Provisioned {} users ({} duplicates, {} invalid) in {} ms",
+                response.getCreated(), response.getDuplicates(), response.getInvalid(), response.getElapsedMs());
+        return response;
+    }
+
+    private void provisionChunk(List<ProvisionUserRequest> requests, int from, int to,
+                                Set<String> seenEmails, ProvisionUserResult[] results) {
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ProvisionUserRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = result(i, request, Status.INVALID, error);
+            } else if (!seenEmails.add(request.getEmail())) {
+                results[i] = result(i, request, Status.DUPLICATE, "Email repeated in this import");
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                accepted.stream().map(i -> requests.get(i).getEmail()).toList()));
+        List<Integer> toInsert = new ArrayList<>(accepted.size());
+        for (Integer i : accepted) {
+            if (existing.contains(requests.get(i).getEmail())) {
+                results[i] = result(i, requests.get(i), Status.DUPLICATE, "Email already registered");
+            } else {
+                toInsert.add(i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        String[] hashes = hashPasswords(requests, toInsert);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> inserted = transactionTemplate.execute(status -> {
+            Set<String> emails = new HashSet<>();
+            for (int first = 0; first < toInsert.size(); first += ROWS_PER_INSERT) {
+                emails.addAll(insertUsers(requests, toInsert, hashes, first,
+                        Math.min(first + ROWS_PER_INSERT, toInsert.size()), now));
+            }
+            return emails;
+        });
+
+        for (Integer i : toInsert) {
+            // Missing from RETURNING: a concurrent registration won the race after our duplicate check
+            results[i] = inserted.contains(requests.get(i).getEmail())
+                    ? result(i, requests.get(i), Status.CREATED, null)
+                    : result(i, requests.get(i), Status.DUPLICATE, "Email already registered");
+        }
+    }
+
+    private List<String> insertUsers(List<ProvisionUserRequest> requests, List<Integer> rows, String[] hashes,
+                                     int from, int to, Timestamp now) {
+        String sql = INSERT_USERS_SQL + String.join(", ", Collections.nCopies(to - from, INSERT_USER_VALUES))
+                + INSERT_USERS_RETURNING;
+        return jdbcTemplate.query(sql, ps -> {
+            int p = 1;
+            for (int n = from; n < to; n++) {
+                ProvisionUserRequest request = requests.get(rows.get(n));
+                ps.setString(p++, request.getEmail());
+                ps.setString(p++, hashes[n]);
+                ps.setString(p++, request.getFullName());
+                ps.setTimestamp(p++, now);
+                ps.setTimestamp(p++, now);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    private String[] hashPasswords(List<ProvisionUserRequest> requests, List<Integer> rows) {
+        String[] hashes = new String[rows.size()];
+        List<Integer> needHashing = new ArrayList<>();
+        List<String> rawPasswords = new ArrayList<>();
+        for (int n = 0; n < rows.size(); n++) {
+            ProvisionUserRequest request = requests.get(rows.get(n));
+            if (StringUtils.hasText(request.getPasswordHash())) {
+                String hash = request.getPasswordHash();
+                hashes[n] = hash.startsWith(BCRYPT_PREFIX) ? hash : BCRYPT_PREFIX + hash;
+            } else {
+                needHashing.add(n);
+                rawPasswords.add(request.getPassword());
+            }
+        }
+
+        List<String> encoded = passwordHashingService.encodeAll(rawPasswords);
+        for (int k = 0; k < needHashing.size(); k++) {
+            hashes[needHashing.get(k)] = encoded.get(k);
+        }
+        return hashes;
+    }
+
+    private String validate(ProvisionUserRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<ProvisionUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!StringUtils.hasText(request.getPassword()) && !StringUtils.hasText(request.getPasswordHash())) {
+            return "Either password or passwordHash is required";
+        }
+        // Caught here so one such row can't fail hashing after earlier chunks have committed
+        if (request.getPassword() != null
+                && request.getPassword().getBytes(StandardCharsets.UTF_8).length > PasswordHashingService.MAX_PASSWORD_BYTES) {
+            return "Password must not exceed " + PasswordHashingService.MAX_PASSWORD_BYTES + " bytes";
+        }
+        return null;
+    }
+
+    private static ProvisionUserResult result(int index, ProvisionUserRequest request, Status status, String message) {
+        return ProvisionUserResult.builder()
+                .index(index)
+                .email(request != null ? request.getEmail() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+-- V10: Hand out ids in blocks of 50 so Hibernate can batch inserts instead of
+-- needing a round trip per row to learn the generated key. The entities use
+-- the pooled-lo optimizer, which treats each value as the start of its block,
+-- so plain INSERTs that still take the column default never collide with it.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
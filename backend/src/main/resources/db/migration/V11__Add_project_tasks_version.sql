@@ -0,0 +1,3 @@
+-- V11: Version stamp bumped by every write to a project's tasks, so task
+-- lists and progress can be given an ETag without reading the tasks.
+ALTER TABLE projects ADD COLUMN tasks_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- V12: Deleting a project only stamps deleted_at; the application no longer
+-- sees the project and ProjectPurger removes its tasks in small batches.
+ALTER TABLE projects ADD COLUMN deleted_at TIMESTAMP;
+
+-- Lets the purger find pending projects without scanning live ones
+CREATE INDEX idx_projects_pending_deletion ON projects(id) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,13 @@
+-- V4: Persisted access-token revocations (logout, compromised sessions)
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Incremental refresh reads rows revoked since the last poll
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+
+-- Purge of entries whose token has expired anyway
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
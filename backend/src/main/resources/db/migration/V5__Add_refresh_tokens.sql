@@ -0,0 +1,19 @@
+-- V5: Rotating refresh tokens. Only a SHA-256 hash of each token is stored.
+-- user_id has no foreign key: its check would read and lock the users row on
+-- every refresh. Rows left by a deleted user are removed by the hourly purge.
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    used_at TIMESTAMP,
+    revoked_at TIMESTAMP
+);
+
+-- Reuse detection revokes every token descended from the same login
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+
+-- Purge of expired tokens
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
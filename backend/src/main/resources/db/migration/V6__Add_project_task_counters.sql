@@ -0,0 +1,18 @@
+-- V6: Denormalized task counters so project progress is a primary-key read.
+-- Maintained by TaskService in the same transaction as the task change and
+-- repaired by TaskCounterReconciler if they ever drift.
+ALTER TABLE projects
+    ADD COLUMN total_tasks BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN completed_tasks BIGINT NOT NULL DEFAULT 0;
+
+UPDATE projects p
+SET total_tasks = c.total,
+    completed_tasks = c.completed
+FROM (
+    SELECT project_id,
+           COUNT(*) AS total,
+           COUNT(*) FILTER (WHERE is_completed) AS completed
+    FROM tasks
+    GROUP BY project_id
+) c
+WHERE c.project_id = p.id;
@@ -0,0 +1,8 @@
+-- V7: Composite indexes matching the (created_at, id) keyset order of the
+-- task and project listings, so any page is an index range scan.
+CREATE INDEX idx_tasks_project_created_id ON tasks(project_id, created_at, id);
+CREATE INDEX idx_projects_user_created_id ON projects(user_id, created_at, id);
+
+-- Both are left-prefixes of the composites above
+DROP INDEX idx_project_id;
+DROP INDEX idx_user_id;
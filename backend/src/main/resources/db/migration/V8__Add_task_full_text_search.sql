@@ -0,0 +1,11 @@
+-- V8: Full-text search over tasks. The tsvector is generated by PostgreSQL,
+-- so it can never drift from title/description; title matches rank higher.
+-- Adding a stored generated column rewrites the table once.
+ALTER TABLE tasks
+    ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
@@ -0,0 +1,7 @@
+-- V9: Trigram indexes so the substring ("contains") task search can use an
+-- index while keeping its exact semantics. The expressions match the
+-- LOWER(...) LIKE predicates generated by TaskRepository.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX idx_tasks_description_trgm ON tasks USING GIN (lower(description) gin_trgm_ops);
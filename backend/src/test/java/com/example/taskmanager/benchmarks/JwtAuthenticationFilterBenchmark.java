@@ -0,0 +1,82 @@
+package com.example.taskmanager.benchmarks;
+
+import com.example.taskmanager.repositories.RevokedTokenRepository;
+import com.example.taskmanager.security.JwtAuthenticationFilter;
+import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.TokenRevocationService;
+import com.example.taskmanager.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JWT filter with the verified-token cache enabled against the
+ * uncached path (cache size 0), which verifies and parses every request.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.example.taskmanager.benchmarks.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "benchmark-secret-key-change-in-production-environment-1234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 86400000L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+        authorization = "Bearer " + tokenProvider.generateToken(1L, "bench@example.com");
+        TokenRevocationService revocations = new TokenRevocationService(
+                Mockito.mock(RevokedTokenRepository.class), 100000, 0.01, new SimpleMeterRegistry());
+        cachedFilter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(tokenProvider, 10000, new SimpleMeterRegistry()), revocations);
+        uncachedFilter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(tokenProvider, 0, new SimpleMeterRegistry()), revocations);
+    }
+
+    @Benchmark
+    public Object cached() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    @Benchmark
+    public Object uncached() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    private Object filter(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanager.benchmarks;
+
+import com.example.taskmanager.exceptions.TooManyRequestsException;
+import com.example.taskmanager.security.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures login throttling throughput under contention: eight threads check
+ * a mix of hot keys (an attacker hammering one email) and a wide spread of
+ * distinct emails and IPs. The target is comfortably above 50k checks/sec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    private static final int KEYS = 50_000;
+
+    private LoginRateLimiter limiter;
+    private String[] emails;
+    private String[] ips;
+
+    @Setup
+    public void setUp() {
+        limiter = new LoginRateLimiter(true, 5, Duration.ofSeconds(12), 20, Duration.ofSeconds(3),
+                100_000, new SimpleMeterRegistry());
+        emails = new String[KEYS];
+        ips = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            emails[i] = "user" + i + "@example.com";
+            ips[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        return check("victim@example.com", "203.0.113.7");
+    }
+
+    @Benchmark
+    public boolean spreadKeys() {
+        int i = ThreadLocalRandom.current().nextInt(KEYS);
+        return check(emails[i], ips[i]);
+    }
+
+    private boolean check(String email, String ip) {
+        try {
+            limiter.checkLogin(email, ip);
+            return true;
+        } catch (TooManyRequestsException ex) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginRateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
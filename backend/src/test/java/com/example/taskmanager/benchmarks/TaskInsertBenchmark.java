@@ -0,0 +1,172 @@
+package com.example.taskmanager.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to import a template project, at the JDBC level. identityPerRequest is
+ * the old shape: one request per task, each an owner lookup, an INSERT that
+ * returns its IDENTITY key and a counter update in its own transaction.
+ * pooledSequenceBatch is POST /tasks/batch: one transaction, ids taken from a
+ * sequence in blocks of 50, one JDBC insert batch.
+ *
+ * Defaults to an in-process H2 database. Pass
+ * -p jdbcUrl=jdbc:postgresql://localhost:5433/project_task?user=user&password=pass&reWriteBatchedInserts=true
+ * for numbers that include real network round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final long PROJECT_ID = 1L;
+    private static final long OWNER_ID = 1L;
+
+    @Param({"jdbc:h2:mem:task_insert_bench;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"500"})
+    public int tasks;
+
+    private Connection connection;
+    private String nextIdSql;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl);
+        nextIdSql = jdbcUrl.startsWith("jdbc:postgresql")
+                ? "SELECT nextval('bench_tasks_seq')"
+                : "SELECT NEXT VALUE FOR bench_tasks_seq";
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_tasks");
+            ddl.execute("DROP TABLE IF EXISTS bench_projects");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_tasks_seq");
+            ddl.execute("CREATE TABLE bench_projects (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "total_tasks BIGINT NOT NULL DEFAULT 0)");
+            ddl.execute("CREATE TABLE bench_tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "project_id BIGINT NOT NULL, title VARCHAR(200) NOT NULL, is_completed BOOLEAN NOT NULL, " +
+                    "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE SEQUENCE bench_tasks_seq START WITH 1000000000 INCREMENT BY " + ALLOCATION_SIZE);
+            ddl.execute("INSERT INTO bench_projects (id, user_id) VALUES (" + PROJECT_ID + ", " + OWNER_ID + ")");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE bench_tasks");
+            ddl.execute("DROP TABLE bench_projects");
+            ddl.execute("DROP SEQUENCE bench_tasks_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityPerRequest() throws SQLException {
+        long lastId = 0;
+        for (int i = 0; i < tasks; i++) {
+            verifyOwner();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bench_tasks (project_id, title, is_completed, created_at, updated_at) " +
+                    "VALUES (?, ?, FALSE, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                bind(insert, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+            adjustCounter(1);
+            connection.commit();
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatch() throws SQLException {
+        verifyOwner();
+        long nextId = 0;
+        long blockEnd = 0;
+        try (PreparedStatement sequence = connection.prepareStatement(nextIdSql);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_tasks (id, project_id, title, is_completed, created_at, updated_at) " +
+                     "VALUES (?, ?, ?, FALSE, ?, ?)")) {
+            for (int i = 0; i < tasks; i++) {
+                if (nextId == blockEnd) {
+                    // pooled-lo: the sequence value is the first id of a block of ALLOCATION_SIZE
+                    try (ResultSet rs = sequence.executeQuery()) {
+                        rs.next();
+                        nextId = rs.getLong(1);
+                        blockEnd = nextId + ALLOCATION_SIZE;
+                    }
+                }
+                insert.setLong(1, nextId++);
+                insert.setLong(2, PROJECT_ID);
+                insert.setString(3, "Imported task " + i);
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                insert.setTimestamp(4, now);
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        adjustCounter(tasks);
+        connection.commit();
+        return nextId;
+    }
+
+    private void verifyOwner() throws SQLException {
+        try (PreparedStatement owner = connection.prepareStatement("SELECT user_id FROM bench_projects WHERE id = ?")) {
+            owner.setLong(1, PROJECT_ID);
+            try (ResultSet rs = owner.executeQuery()) {
+                if (!rs.next() || rs.getLong(1) != OWNER_ID) {
+                    throw new IllegalStateException("Project not found");
+                }
+            }
+        }
+    }
+
+    private void adjustCounter(int delta) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE bench_projects SET total_tasks = total_tasks + ? WHERE id = ?")) {
+            update.setInt(1, delta);
+            update.setLong(2, PROJECT_ID);
+            update.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement insert, int i) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insert.setLong(1, PROJECT_ID);
+        insert.setString(2, "Imported task " + i);
+        insert.setTimestamp(3, now);
+        insert.setTimestamp(4, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
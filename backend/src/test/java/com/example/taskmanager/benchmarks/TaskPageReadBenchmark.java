@@ -0,0 +1,161 @@
+package com.example.taskmanager.benchmarks;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.models.Project;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.models.User;
+import com.example.taskmanager.repositories.TaskFieldQueriesImpl;
+import com.example.taskmanager.repositories.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of one task list page through the old entity path (load managed Task
+ * entities, then copy them into TaskDTO) and the constructor-expression path
+ * TaskRepository now uses. Both run in a read-only session with manual flush,
+ * the way @Transactional(readOnly = true) sets them up. summaryPage is the
+ * view=summary page (id, title, dueDate, isCompleted) from TaskFieldQueriesImpl;
+ * it includes the COUNT that a full first page needs. Run with -prof gc
+ * (main() adds it) to compare gc.alloc.rate.norm, the bytes allocated per page.
+ *
+ * Starts the application context on the H2 test profile; pass
+ * -jvmArgs -Dspring.datasource.url=jdbc:postgresql://... to measure against PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPageReadBenchmark {
+
+    private static final String ENTITY_PAGE =
+            "SELECT t FROM Task t WHERE t.project.id = :projectId ORDER BY t.createdAt, t.id";
+    private static final String DTO_PAGE =
+            TaskRepository.SELECT_TASK_DTO + "WHERE t.project.id = :projectId ORDER BY t.createdAt, t.id";
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"1000"})
+    public int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Long projectId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        String description = "d".repeat(descriptionLength);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        User owner = User.builder().email("bench@example.com").passwordHash("hash").build();
+        entityManager.persist(owner);
+        Project project = Project.builder().title("Bench").user(owner).build();
+        entityManager.persist(project);
+        for (int i = 0; i < pageSize * 5; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .description(description)
+                    .isCompleted(i % 3 == 0)
+                    .project(project)
+                    .build());
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        projectId = project.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> entityPage() {
+        return readOnly(entityManager -> entityManager.createQuery(ENTITY_PAGE, Task.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(TaskPageReadBenchmark::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> dtoPage() {
+        return readOnly(entityManager -> entityManager.createQuery(DTO_PAGE, TaskDTO.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> summaryPage() {
+        return readOnly(entityManager -> new TaskFieldQueriesImpl(entityManager)
+                .findFields(projectId, null, TaskField.SUMMARY,
+                        PageRequest.of(0, pageSize, Sort.by("createdAt", "id")))
+                .getContent());
+    }
+
+    private <T> T readOnly(Function<EntityManager, T> query) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Session session = entityManager.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            entityManager.getTransaction().begin();
+            T page = query.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return page;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // The mapping TaskService did before the read paths selected DTOs directly
+    private static TaskDTO toDTO(Task task) {
+        return TaskDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .isCompleted(task.getIsCompleted())
+                .projectId(task.getProject().getId())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskPageReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
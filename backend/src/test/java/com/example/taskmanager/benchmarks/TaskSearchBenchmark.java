@@ -0,0 +1,142 @@
+package com.example.taskmanager.benchmarks;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.services.TaskSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory trigram index with the SQL LIKE query for substring
+ * search over one project. Defaults to an in-process H2 database; pass
+ * -p jdbcUrl=jdbc:postgresql://... (with the V9 trigram indexes applied) to
+ * compare against PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "invoice", "deploy", "review", "customer", "migration", "report", "backend", "release",
+            "onboarding", "security", "payment", "dashboard", "export", "budget", "roadmap", "hotfix"
+    };
+    private static final long PROJECT_ID = 1L;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Param({"jdbc:h2:mem:task_search_bench;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"10000"})
+    public int tasks;
+
+    private TaskSearchIndex index;
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private String[] terms;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        List<TaskDTO> rows = new ArrayList<>(tasks);
+        for (long id = 1; id <= tasks; id++) {
+            rows.add(TaskDTO.builder()
+                    .id(id)
+                    .projectId(PROJECT_ID)
+                    .title(word(random) + " " + word(random) + " #" + id)
+                    .description(word(random) + " " + word(random) + " " + word(random))
+                    .build());
+        }
+
+        connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_tasks");
+            ddl.execute("CREATE TABLE bench_tasks (id BIGINT PRIMARY KEY, project_id BIGINT, " +
+                    "title VARCHAR(255), description VARCHAR(1000))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_tasks VALUES (?, ?, ?, ?)")) {
+            for (TaskDTO row : rows) {
+                insert.setLong(1, row.getId());
+                insert.setLong(2, PROJECT_ID);
+                insert.setString(3, row.getTitle());
+                insert.setString(4, row.getDescription());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        likeQuery = connection.prepareStatement("SELECT id, title, description FROM bench_tasks " +
+                "WHERE project_id = ? AND (LOWER(title) LIKE ? OR LOWER(description) LIKE ?) " +
+                "ORDER BY id LIMIT 20");
+
+        index = new TaskSearchIndex(true, DataSize.ofMegabytes(512), Duration.ofMinutes(10), new SimpleMeterRegistry());
+        index.search(PROJECT_ID, "warmup", PAGE, () -> rows);
+
+        terms = new String[WORDS.length];
+        for (int i = 0; i < WORDS.length; i++) {
+            terms[i] = WORDS[i].substring(1, 5);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE bench_tasks");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int inMemoryIndex() {
+        return index.search(PROJECT_ID, term(), PAGE, List::of).orElseThrow().getNumberOfElements();
+    }
+
+    @Benchmark
+    public int sqlLike() throws SQLException {
+        String pattern = "%" + term() + "%";
+        likeQuery.setLong(1, PROJECT_ID);
+        likeQuery.setString(2, pattern);
+        likeQuery.setString(3, pattern);
+        int found = 0;
+        try (ResultSet rs = likeQuery.executeQuery()) {
+            while (rs.next()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private String term() {
+        return terms[ThreadLocalRandom.current().nextInt(terms.length)];
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskmanager.benchmarks;
+
+import com.example.taskmanager.repositories.TaskTitle;
+import com.example.taskmanager.services.TaskTitleSuggester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typeahead lookups against a loaded project while other threads'
+ * keystrokes hit the same titles, and the cost of applying a task write. The
+ * target for a lookup is well under a millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TaskTitleSuggestBenchmark {
+
+    private static final String[] WORDS = {
+            "invoice", "deploy", "review", "customer", "migration", "report", "backend", "release",
+            "onboarding", "security", "payment", "dashboard", "export", "budget", "roadmap", "hotfix"
+    };
+    private static final long PROJECT_ID = 1L;
+
+    @Param({"10000"})
+    public int tasks;
+
+    private TaskTitleSuggester suggester;
+    private String[] prefixes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<TaskTitle> titles = new ArrayList<>(tasks);
+        for (long id = 1; id <= tasks; id++) {
+            titles.add(title(id, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id));
+        }
+        suggester = new TaskTitleSuggester(100, Duration.ofHours(1), new SimpleMeterRegistry());
+        suggester.suggest(PROJECT_ID, "warmup", 1, () -> titles);
+
+        prefixes = new String[WORDS.length * 3];
+        for (int i = 0; i < WORDS.length; i++) {
+            prefixes[i * 3] = WORDS[i].substring(0, 1);
+            prefixes[i * 3 + 1] = WORDS[i].substring(0, 3);
+            prefixes[i * 3 + 2] = WORDS[i] + " ";
+        }
+    }
+
+    @Benchmark
+    public int suggest() {
+        String prefix = prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)];
+        return suggester.suggest(PROJECT_ID, prefix, 10, List::of).size();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void rename() {
+        long taskId = ThreadLocalRandom.current().nextLong(1, tasks + 1);
+        suggester.taskSaved(PROJECT_ID, taskId, WORDS[(int) (taskId % WORDS.length)] + " renamed " + taskId);
+    }
+
+    private static TaskTitle title(Long id, String title) {
+        return new TaskTitle() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskTitleSuggestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadReplicaConfig Unit Tests")
+class ReadReplicaConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            // Converts the Duration @Value parameters, as the application context does
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "app.datasource.replicas.enabled=true",
+                    "app.datasource.replicas.urls=jdbc:h2:mem:replica",
+                    "spring.datasource.url=jdbc:h2:mem:primary",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.max-lifetime=600000",
+                    "spring.datasource.hikari.leak-detection-threshold=20000");
+
+    @Test
+    @DisplayName("Should apply spring.datasource.hikari settings to the primary and replica pools")
+    void testPoolsUseHikariSettings() {
+        contextRunner.run(context -> {
+            ReplicaRoutingDataSource routing = context.getBean(ReplicaRoutingDataSource.class);
+            HikariDataSource primary = (HikariDataSource) routing.getPrimary();
+            HikariDataSource replica = (HikariDataSource) routing.getReplicas().get(0);
+
+            assertEquals("primary", primary.getPoolName());
+            assertEquals(7, primary.getMaximumPoolSize());
+            assertEquals(600000, primary.getMaxLifetime());
+            assertEquals(20000, primary.getLeakDetectionThreshold());
+            assertEquals(600000, replica.getMaxLifetime());
+            assertEquals(20000, replica.getLeakDetectionThreshold());
+            // The replica pool size has its own setting
+            assertEquals(10, replica.getMaximumPoolSize());
+            assertTrue(replica.isReadOnly());
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReadYourWritesInterceptor Unit Tests")
+class ReadYourWritesInterceptorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ReadYourWritesInterceptor interceptor;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5), clock::get);
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should read from a replica when the user has not written")
+    void testRead_NoRecentWrite() throws SQLException {
+        // Arrange
+        authenticate(1L);
+
+        // Act
+        interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null);
+
+        // Assert
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should pin a writing request to the primary and unpin it afterwards")
+    void testWrite_PinnedForRequest() throws SQLException {
+        // Arrange
+        authenticate(1L);
+
+        // Act
+        interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null);
+        Connection during = routing.getConnection();
+        interceptor.afterCompletion(request("POST"), new MockHttpServletResponse(), null, null);
+
+        // Assert
+        assertSame(primaryConnection, during);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should keep the user's reads on the primary within the window only")
+    void testRead_AfterWrite() throws SQLException {
+        // Arrange
+        authenticate(1L);
+        interceptor.preHandle(request("PUT"), new MockHttpServletResponse(), null);
+        interceptor.afterCompletion(request("PUT"), new MockHttpServletResponse(), null, null);
+
+        // Act & Assert
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null);
+        assertSame(primaryConnection, routing.getConnection());
+        interceptor.afterCompletion(request("GET"), new MockHttpServletResponse(), null, null);
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should not pin other users after one user writes")
+    void testRead_OtherUser() throws SQLException {
+        // Arrange
+        authenticate(1L);
+        interceptor.preHandle(request("DELETE"), new MockHttpServletResponse(), null);
+        interceptor.afterCompletion(request("DELETE"), new MockHttpServletResponse(), null, null);
+
+        // Act
+        authenticate(2L);
+        interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null);
+
+        // Assert
+        assertFalse(interceptor.wroteRecently(2L, clock.get()));
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should pin an anonymous write without tracking it")
+    void testWrite_Anonymous() throws SQLException {
+        // Act
+        interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null);
+
+        // Assert
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, null));
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/projects");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource first;
+    private DataSource second;
+    private Connection primaryConnection;
+    private Connection firstConnection;
+    private Connection secondConnection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        first = mock(DataSource.class);
+        second = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        firstConnection = mock(Connection.class);
+        secondConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(first, second),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    @DisplayName("Should spread reads over the replicas in turn")
+    void testRoundRobin() throws SQLException {
+        assertSame(firstConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(firstConnection, routing.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the thread is pinned")
+    void testPinnedToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource.pinPrimary();
+
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+        ReplicaRoutingDataSource.unpin();
+        assertSame(firstConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary and skip a replica that refuses connections")
+    void testUnreachableReplica() throws SQLException {
+        // Arrange
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should leave out lagging replicas until they catch up")
+    void testLaggingReplicas() throws SQLException {
+        // Arrange
+        lag(firstConnection, 30);
+        lag(secondConnection, 30);
+
+        // Act
+        routing.checkReplicas();
+
+        // Assert
+        assertSame(primaryConnection, routing.getConnection());
+
+        lag(secondConnection, 0.5);
+        routing.checkReplicas();
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown selection strategy")
+    void testSelectionFrom() {
+        assertEquals(ReplicaRoutingDataSource.Selection.LEAST_CONNECTIONS,
+                ReplicaRoutingDataSource.Selection.from("least-connections"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaRoutingDataSource.Selection.from("random"));
+    }
+
+    private static void lag(Connection connection, double seconds) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getDouble(1)).thenReturn(seconds);
+    }
+}
@@ -2,43 +2,56 @@ package com.example.taskmanager.controllers;
 
 import com.example.taskmanager.dtos.CreateProjectRequest;
 import com.example.taskmanager.dtos.ProjectDTO;
+import com.example.taskmanager.security.JwtPrincipal;
+import com.example.taskmanager.security.VerifiedTokenCache;
 import com.example.taskmanager.services.ProjectService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@ActiveProfiles("test")
 @DisplayName("ProjectController Integration Tests")
 class ProjectControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @MockitoBean
     private ProjectService projectService;
 
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +60,9 @@ class ProjectControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(verifiedTokenCache.resolve("token"))
+                .thenReturn(Optional.of(new JwtPrincipal(1L, "jti-1", Instant.now().plusSeconds(3600))));
+
         testProjectDTO = new ProjectDTO();
         testProjectDTO.setId(1L);
         testProjectDTO.setTitle("Test Project");
@@ -66,7 +82,7 @@ class ProjectControllerTest {
                 .thenReturn(testProjectDTO);
 
         // Act & Assert
-        mockMvc.perform(post("/api/projects")
+        mockMvc.perform(post("/projects")
                 .header("Authorization", "Bearer token")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createProjectRequest)))
@@ -83,19 +99,36 @@ class ProjectControllerTest {
         projects.add(testProjectDTO);
         Page<ProjectDTO> projectPage = new PageImpl<>(projects, PageRequest.of(0, 10), 1);
 
-        when(projectService.getUserProjects(eq(1L), any(PageRequest.class)))
+        when(projectService.getProjectListTag(1L)).thenReturn("\"pl-1\"");
+        when(projectService.getUserProjects(eq(1L), any(PageRequest.class), eq(false)))
                 .thenReturn(projectPage);
 
         // Act & Assert
-        mockMvc.perform(get("/api/projects")
+        mockMvc.perform(get("/projects")
                 .header("Authorization", "Bearer token")
                 .param("page", "0")
                 .param("size", "10"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"pl-1\""))
                 .andExpect(jsonPath("$.content[0].id").value(1))
                 .andExpect(jsonPath("$.content[0].title").value("Test Project"));
     }
 
+    @Test
+    @DisplayName("Should answer 304 without loading projects when the list ETag matches")
+    void testGetUserProjects_NotModified() throws Exception {
+        // Arrange
+        when(projectService.getProjectListTag(1L)).thenReturn("\"pl-1\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/projects")
+                .header("Authorization", "Bearer token")
+                .header("If-None-Match", "\"pl-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"pl-1\""));
+        verify(projectService, never()).getUserProjects(any(), any(PageRequest.class), anyBoolean());
+    }
+
     @Test
     @DisplayName("Should get project by ID - GET /api/projects/{id}")
     void testGetProjectById() throws Exception {
@@ -104,7 +137,7 @@ class ProjectControllerTest {
                 .thenReturn(testProjectDTO);
 
         // Act & Assert
-        mockMvc.perform(get("/api/projects/1")
+        mockMvc.perform(get("/projects/1")
                 .header("Authorization", "Bearer token"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
@@ -120,7 +153,7 @@ class ProjectControllerTest {
         updatedProjectDTO.setTitle("Updated Project");
         updatedProjectDTO.setDescription("Updated Description");
 
-        when(projectService.updateProject(eq(1L), eq(1L), any(CreateProjectRequest.class)))
+        when(projectService.updateProject(eq(1L), eq(1L), any(CreateProjectRequest.class), isNull()))
                 .thenReturn(updatedProjectDTO);
 
         CreateProjectRequest updateRequest = new CreateProjectRequest();
@@ -128,7 +161,7 @@ class ProjectControllerTest {
         updateRequest.setDescription("Updated Description");
 
         // Act & Assert
-        mockMvc.perform(put("/api/projects/1")
+        mockMvc.perform(put("/projects/1")
                 .header("Authorization", "Bearer token")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateRequest)))
@@ -143,7 +176,7 @@ class ProjectControllerTest {
         doNothing().when(projectService).deleteProject(1L, 1L);
 
         // Act & Assert
-        mockMvc.perform(delete("/api/projects/1")
+        mockMvc.perform(delete("/projects/1")
                 .header("Authorization", "Bearer token"))
                 .andExpect(status().isNoContent());
     }
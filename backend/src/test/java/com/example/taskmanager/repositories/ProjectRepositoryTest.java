@@ -1,12 +1,13 @@
 package com.example.taskmanager.repositories;
 
+import com.example.taskmanager.dtos.ProjectDTO;
 import com.example.taskmanager.models.Project;
 import com.example.taskmanager.models.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
@@ -34,8 +35,8 @@ class ProjectRepositoryTest {
     void setUp() {
         testUser = new User();
         testUser.setEmail("test@example.com");
-        testUser.setName("Test User");
-        testUser.setPassword("hashedpassword");
+        testUser.setFullName("Test User");
+        testUser.setPasswordHash("hashedpassword");
         testUser = userRepository.save(testUser);
 
         testProject = new Project();
@@ -67,12 +68,12 @@ class ProjectRepositoryTest {
     @DisplayName("Should find project by user ID with pagination")
     void testFindByUserId() {
         // Act
-        Page<Project> projects = projectRepository.findByUserId(testUser.getId(), PageRequest.of(0, 10));
+        Page<ProjectDTO> projects = projectRepository.findByUserId(testUser.getId(), PageRequest.of(0, 10));
 
         // Assert
         assertNotNull(projects);
         assertTrue(projects.getContent().size() > 0);
-        assertEquals(testUser.getId(), projects.getContent().get(0).getUser().getId());
+        assertEquals(testUser.getId(), projects.getContent().get(0).getUserId());
     }
 
     @Test
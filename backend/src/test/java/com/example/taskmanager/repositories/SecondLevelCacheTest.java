@@ -0,0 +1,159 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.models.Project;
+import com.example.taskmanager.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with the second-level cache on and every repository call in its own
+ * committed transaction, the way requests use it.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "HIBERNATE_CACHE_ENABLED=true")
+@DisplayName("Second-Level Cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .email("cached@example.com")
+                .passwordHash("hash")
+                .build());
+        project = projectRepository.save(Project.builder()
+                .title("Cached")
+                .user(user)
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM tasks").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM projects").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM users").executeUpdate();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should load a user by id from the cache without SQL")
+    void testUserById() {
+        // Act
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getCacheRegionStatistics("user").getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should not serve a project deleted by another node from the cache")
+    void testDeletedElsewhere() {
+        // Arrange
+        projectRepository.findByIdAndUserId(project.getId(), user.getId()).orElseThrow();
+        projectRepository.findById(project.getId()).orElseThrow();
+
+        // Act: plain SQL leaves this node's cache untouched, as another node's delete would
+        new JdbcTemplate(dataSource).update(
+                "UPDATE projects SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", project.getId());
+
+        // Assert
+        assertTrue(projectRepository.findByIdAndUserId(project.getId(), user.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop serving a project once it is marked deleted")
+    void testMarkDeletedEvicts() {
+        // Arrange
+        projectRepository.findByIdAndUserId(project.getId(), user.getId()).orElseThrow();
+        projectRepository.findById(project.getId()).orElseThrow();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> projectRepository.markDeleted(project.getId(), user.getId()));
+
+        // Assert
+        assertTrue(projectRepository.findByIdAndUserId(project.getId(), user.getId()).isEmpty());
+        assertTrue(projectRepository.findById(project.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should always load projects from the database")
+    void testProjectNotCached() {
+        // Arrange
+        projectRepository.findById(project.getId()).orElseThrow();
+
+        // Act
+        statistics.clear();
+        projectRepository.findById(project.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertNull(statistics.getCacheRegionStatistics("project"));
+    }
+
+    @Test
+    @DisplayName("Counter updates should leave the user cache alone")
+    void testCounterUpdateKeepsCache() {
+        // Arrange
+        userRepository.findById(user.getId()).orElseThrow();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> projectRepository.adjustTaskCounters(project.getId(), 1, 0));
+        statistics.clear();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1L, projectRepository.findTaskCounts(project.getId(), user.getId()).orElseThrow().getTotalTasks());
+    }
+}
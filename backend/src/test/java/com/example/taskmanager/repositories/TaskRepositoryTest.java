@@ -0,0 +1,134 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.models.Project;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("TaskRepository Integration Tests")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("search@example.com")
+                .passwordHash("hash")
+                .build());
+        project = entityManager.persist(Project.builder()
+                .title("Search")
+                .user(user)
+                .build());
+        for (String title : List.of("Replace part AB_12", "Replace part ABX12", "Discount 50% off")) {
+            entityManager.persist(Task.builder()
+                    .title(title)
+                    .isCompleted(false)
+                    .project(project)
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should match contains case-insensitively")
+    void testSearchTasks_CaseInsensitive() {
+        assertEquals(2, search("%replace part%").size());
+    }
+
+    @Test
+    @DisplayName("Should treat escaped wildcards in the term literally")
+    void testSearchTasks_EscapedWildcards() {
+        assertEquals(List.of("Replace part AB_12"), search("%ab\\_12%"));
+        assertEquals(List.of("Discount 50% off"), search("%50\\%%"));
+    }
+
+    @Test
+    @DisplayName("Should select only the requested fields")
+    void testFindFields_Summary() {
+        // Act
+        Page<Map<String, Object>> page = taskRepository.findFields(project.getId(), null, TaskField.SUMMARY,
+                PageRequest.of(0, 2, Sort.by("title")));
+
+        // Assert
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("id", "title", "dueDate", "isCompleted"), List.copyOf(page.getContent().get(0).keySet()));
+        assertEquals("Discount 50% off", page.getContent().get(0).get("title"));
+    }
+
+    @Test
+    @DisplayName("Should apply the contains pattern to the selected fields")
+    void testFindFields_Pattern() {
+        // Act
+        Page<Map<String, Object>> page = taskRepository.findFields(project.getId(), "%ab\\_12%",
+                EnumSet.of(TaskField.ID, TaskField.PROJECT_ID), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals(project.getId(), page.getContent().get(0).get("projectId"));
+        assertFalse(page.getContent().get(0).containsKey("title"));
+    }
+
+    @Test
+    @DisplayName("Should bind the pattern in both the page and the count query")
+    void testFindFields_PatternBoundInCount() {
+        // Act
+        Page<Map<String, Object>> page = taskRepository.findFields(project.getId(), "%replace part%",
+                EnumSet.of(TaskField.ID), PageRequest.of(0, 1));
+        Page<Map<String, Object>> quoted = taskRepository.findFields(project.getId(), "%' or '1'='1%",
+                EnumSet.of(TaskField.ID), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(2, page.getTotalElements());
+        assertEquals(0, quoted.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should not read the tasks of a project marked deleted")
+    void testProjectMarkedDeleted() {
+        // Arrange
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE projects SET deleted_at = CURRENT_TIMESTAMP WHERE id = :id")
+                .setParameter("id", project.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act & Assert
+        assertTrue(search("%replace part%").isEmpty());
+        assertTrue(taskRepository.findByProjectId(project.getId(), PageRequest.of(0, 10)).isEmpty());
+        assertTrue(taskRepository.findAllByProjectIdOrderById(project.getId()).isEmpty());
+        assertEquals(0, taskRepository.findFields(project.getId(), null, TaskField.SUMMARY,
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private List<String> search(String pattern) {
+        return taskRepository.searchTasks(project.getId(), pattern, PageRequest.of(0, 10))
+                .map(TaskDTO::getTitle)
+                .getContent();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.taskmanager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report a false negative")
+    void testMightContain_NoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] ids = new String[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(ids[i]);
+        }
+
+        // Act & Assert
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate near the configured target")
+    void testMightContain_FalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
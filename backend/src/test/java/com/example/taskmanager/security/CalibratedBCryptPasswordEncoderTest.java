@@ -0,0 +1,40 @@
+package com.example.taskmanager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CalibratedBCryptPasswordEncoder Unit Tests")
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should request an upgrade when the stored cost differs either way")
+    void testUpgradeEncoding_CostMismatch() {
+        // Arrange
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+        String lower = new BCryptPasswordEncoder(4).encode("secret");
+        String same = encoder.encode("secret");
+        String higher = new BCryptPasswordEncoder(6).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(lower));
+        assertFalse(encoder.upgradeEncoding(same));
+        assertTrue(encoder.upgradeEncoding(higher));
+    }
+
+    @Test
+    @DisplayName("Should keep the calibrated strength within the configured bounds")
+    void testCalibrate_Bounded() {
+        // Act
+        CalibratedBCryptPasswordEncoder fast = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 6);
+        CalibratedBCryptPasswordEncoder slow = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6);
+
+        // Assert
+        assertEquals(4, fast.getStrength());
+        assertEquals(6, slow.getStrength());
+    }
+}
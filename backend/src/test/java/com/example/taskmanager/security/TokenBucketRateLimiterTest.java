@@ -0,0 +1,101 @@
+package com.example.taskmanager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketRateLimiter Unit Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void testTryAcquire_BurstThenReject() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(1), 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("user@example.com"));
+        assertEquals(0, limiter.tryAcquire("user@example.com"));
+        assertEquals(0, limiter.tryAcquire("user@example.com"));
+        assertEquals(Duration.ofSeconds(1).toNanos(), limiter.tryAcquire("user@example.com"));
+        assertEquals(0, limiter.tryAcquire("other@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should refill one token per period")
+    void testTryAcquire_Refill() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 100, clock::get);
+        limiter.tryAcquire("key");
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    @DisplayName("Should evict refilled buckets and cap the key set")
+    void testEvictIdle_BoundedKeys() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        limiter.evictIdle();
+
+        // Assert
+        assertEquals(0, limiter.size());
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("Should refuse new keys until a slot frees up when the key set is full of throttled buckets")
+    void testTryAcquire_FullKeySetFailsClosed() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 2, clock::get);
+        limiter.tryAcquire("a");
+        clock.addAndGet(Duration.ofMillis(400).toNanos());
+        limiter.tryAcquire("b");
+
+        // Act & Assert: told to come back when "a" has refilled
+        assertEquals(Duration.ofMillis(600).toNanos(), limiter.tryAcquire("c"));
+        assertEquals(Duration.ofMillis(600).toNanos(), limiter.tryAcquire("d"));
+        assertEquals(2, limiter.size());
+        assertEquals(2, limiter.overflowRejections());
+
+        clock.addAndGet(Duration.ofMillis(600).toNanos());
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("b") > 0);
+    }
+
+    @Test
+    @DisplayName("Should make room by forgetting buckets that still hold half their burst")
+    void testTryAcquire_FullKeySetEvictsLightlyUsed() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(1), 2, clock::get);
+        limiter.tryAcquire("light");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("heavy");
+        }
+
+        // Act
+        assertEquals(0, limiter.tryAcquire("new"));
+
+        // Assert: the drained bucket is kept, the barely used one made room
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("heavy") > 0);
+        assertEquals(0, limiter.overflowRejections());
+    }
+}
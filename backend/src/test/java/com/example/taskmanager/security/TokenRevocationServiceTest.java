@@ -0,0 +1,148 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.models.RevokedToken;
+import com.example.taskmanager.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    private static final long EXPECTED_REVOCATIONS = 1;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TokenRevocationService(revokedTokenRepository, EXPECTED_REVOCATIONS,
+                FALSE_POSITIVE_RATE, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should persist a revocation and report the token revoked at once")
+    void testRevoke() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        // Act
+        service.revoke("jti-1", 1L, expiresAt);
+
+        // Assert
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertEquals("jti-1", saved.getValue().getTokenId());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertEquals(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), saved.getValue().getExpiresAt());
+        assertTrue(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Should ignore a token without an id")
+    void testRevoke_NullTokenId() {
+        // Act
+        service.revoke(null, 1L, Instant.now().plusSeconds(600));
+
+        // Assert
+        verifyNoInteractions(revokedTokenRepository);
+        assertFalse(service.isRevoked(null));
+    }
+
+    @Test
+    @DisplayName("Should answer tokens the filter has never seen without consulting the exact set")
+    void testIsRevoked_NotRevoked() {
+        // Act
+        boolean revoked = service.isRevoked("jti-unknown");
+
+        // Assert
+        assertFalse(revoked);
+        assertEquals(0, meterRegistry.counter("jwt.revocation.filter.hits").count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the exact set when the filter reports a false positive")
+    void testIsRevoked_FalsePositive() {
+        // Arrange: overfill a filter sized for one entry so most of its bits are set
+        BloomFilter reference = new BloomFilter(EXPECTED_REVOCATIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 50; i++) {
+            service.revoke("jti-" + i, 1L, Instant.now().plusSeconds(600));
+            reference.put("jti-" + i);
+        }
+        String falsePositive = findFalsePositive(reference);
+
+        // Act
+        boolean revoked = service.isRevoked(falsePositive);
+
+        // Assert
+        assertFalse(revoked);
+        assertEquals(1, meterRegistry.counter("jwt.revocation.filter.hits").count());
+        assertEquals(1, meterRegistry.counter("jwt.revocation.filter.false-positives").count());
+    }
+
+    @Test
+    @DisplayName("Should forget expired revocations on purge and keep live ones")
+    void testPurgeExpired() {
+        // Arrange
+        service.revoke("jti-expired", 1L, Instant.now().minusSeconds(1));
+        service.revoke("jti-live", 1L, Instant.now().plusSeconds(600));
+
+        // Act
+        service.purgeExpired();
+
+        // Assert
+        verify(revokedTokenRepository).deleteExpired(any());
+        assertFalse(service.isRevoked("jti-expired"));
+        assertTrue(service.isRevoked("jti-live"));
+        assertEquals(1, meterRegistry.get("jwt.revocation.entries").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations recorded by other nodes on refresh")
+    void testRefresh() {
+        // Arrange
+        RevokedToken elsewhere = RevokedToken.builder()
+                .tokenId("jti-remote")
+                .userId(2L)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(elsewhere));
+
+        // Act
+        service.refresh();
+
+        // Assert
+        assertTrue(service.isRevoked("jti-remote"));
+    }
+
+    private static String findFalsePositive(BloomFilter filter) {
+        for (int i = 0; i < 100_000; i++) {
+            String candidate = "other-" + i;
+            if (filter.mightContain(candidate)) {
+                return candidate;
+            }
+        }
+        throw new AssertionError("No false positive found");
+    }
+}
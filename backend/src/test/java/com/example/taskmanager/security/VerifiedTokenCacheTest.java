@@ -0,0 +1,104 @@
+package com.example.taskmanager.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VerifiedTokenCache Unit Tests")
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(tokenProvider, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should parse a token once and serve repeats from the cache")
+    void testResolve_CachesVerifiedToken() {
+        // Arrange
+        JwtPrincipal principal = new JwtPrincipal(1L, "jti-1", NOW.plusSeconds(60));
+        when(tokenProvider.parseToken("token-a")).thenReturn(Optional.of(principal));
+
+        // Act
+        Optional<JwtPrincipal> first = cache.resolve("token-a");
+        Optional<JwtPrincipal> second = cache.resolve("token-a");
+
+        // Assert
+        assertEquals(principal, first.orElseThrow());
+        assertEquals(principal, second.orElseThrow());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        verify(tokenProvider, times(1)).parseToken("token-a");
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void testResolve_InvalidTokenNotCached() {
+        // Arrange
+        when(tokenProvider.parseToken("bad")).thenReturn(Optional.empty());
+
+        // Act
+        cache.resolve("bad");
+        Optional<JwtPrincipal> result = cache.resolve("bad");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(0, cache.size());
+        verify(tokenProvider, times(2)).parseToken("bad");
+    }
+
+    @Test
+    @DisplayName("Should re-verify a cached token once its exp has passed")
+    void testResolve_ExpiredEntryReparsed() {
+        // Arrange
+        JwtPrincipal expired = new JwtPrincipal(1L, "jti-1", NOW);
+        when(tokenProvider.parseToken("token-a"))
+                .thenReturn(Optional.of(expired))
+                .thenReturn(Optional.empty());
+
+        // Act
+        cache.resolve("token-a");
+        Optional<JwtPrincipal> result = cache.resolve("token-a");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(0, cache.getHitCount());
+        verify(tokenProvider, times(2)).parseToken("token-a");
+    }
+
+    @Test
+    @DisplayName("Should never grow beyond the configured size")
+    void testResolve_BoundedSize() {
+        // Arrange
+        when(tokenProvider.parseToken(anyString()))
+                .thenAnswer(invocation -> Optional.of(new JwtPrincipal(1L, "jti-1", NOW.plusSeconds(60))));
+
+        // Act
+        cache.resolve("token-a");
+        cache.resolve("token-b");
+        cache.resolve("token-c");
+
+        // Assert
+        assertTrue(cache.size() <= 2);
+    }
+}
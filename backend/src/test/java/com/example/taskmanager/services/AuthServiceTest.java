@@ -2,11 +2,12 @@ package com.example.taskmanager.services;
 
 import com.example.taskmanager.dtos.AuthLoginRequest;
 import com.example.taskmanager.dtos.AuthLoginResponse;
-import com.example.taskmanager.dtos.AuthSignUpRequest;
+import com.example.taskmanager.dtos.AuthRegisterRequest;
 import com.example.taskmanager.exceptions.UnauthorizedException;
 import com.example.taskmanager.models.User;
 import com.example.taskmanager.repositories.UserRepository;
 import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
 
@@ -34,31 +35,38 @@ class AuthServiceTest {
     private JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private AuthService authService;
 
     private User testUser;
     private AuthLoginRequest loginRequest;
-    private AuthSignUpRequest signUpRequest;
+    private AuthRegisterRequest signUpRequest;
 
     @BeforeEach
     void setUp() {
         testUser = new User();
         testUser.setId(1L);
         testUser.setEmail("test@example.com");
-        testUser.setName("Test User");
-        testUser.setPassword("$2a$10$hashedpassword");
+        testUser.setFullName("Test User");
+        testUser.setPasswordHash("$2a$10$hashedpassword");
 
         loginRequest = new AuthLoginRequest();
         loginRequest.setEmail("test@example.com");
         loginRequest.setPassword("password123");
 
-        signUpRequest = new AuthSignUpRequest();
+        signUpRequest = new AuthRegisterRequest();
         signUpRequest.setEmail("newuser@example.com");
-        signUpRequest.setName("New User");
+        signUpRequest.setFullName("New User");
         signUpRequest.setPassword("password123");
+        signUpRequest.setConfirmPassword("password123");
     }
 
     @Test
@@ -66,8 +74,9 @@ class AuthServiceTest {
     void testLogin_Success() {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("password123", testUser.getPassword())).thenReturn(true);
-        when(jwtTokenProvider.generateToken(1L)).thenReturn("jwt-token");
+        when(passwordHashingService.matches("password123", testUser.getPasswordHash())).thenReturn(true);
+        when(jwtTokenProvider.generateToken(1L, "test@example.com")).thenReturn("jwt-token");
+        when(refreshTokenService.issue(1L)).thenReturn(new RefreshTokenService.IssuedToken("refresh-token", 1L));
 
         // Act
         AuthLoginResponse response = authService.login(loginRequest);
@@ -75,9 +84,9 @@ class AuthServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
-        assertEquals(testUser.getEmail(), response.getEmail());
+        assertEquals(testUser.getEmail(), response.getUser().getEmail());
         verify(userRepository, times(1)).findByEmail("test@example.com");
-        verify(passwordEncoder, times(1)).matches("password123", testUser.getPassword());
+        verify(passwordHashingService, times(1)).matches("password123", testUser.getPasswordHash());
     }
 
     @Test
@@ -85,7 +94,7 @@ class AuthServiceTest {
     void testLogin_InvalidCredentials() {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", testUser.getPassword())).thenReturn(false);
+        when(passwordHashingService.matches("wrongpassword", testUser.getPasswordHash())).thenReturn(false);
 
         // Act
         AuthLoginRequest invalidRequest = new AuthLoginRequest();
@@ -120,18 +129,19 @@ class AuthServiceTest {
     void testSignUp_Success() {
         // Arrange
         when(userRepository.findByEmail(signUpRequest.getEmail())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(signUpRequest.getPassword())).thenReturn("$2a$10$hashedpassword");
+        when(passwordHashingService.encode(signUpRequest.getPassword())).thenReturn("$2a$10$hashedpassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(jwtTokenProvider.generateToken(1L)).thenReturn("jwt-token");
+        when(jwtTokenProvider.generateToken(1L, "test@example.com")).thenReturn("jwt-token");
+        when(refreshTokenService.issue(1L)).thenReturn(new RefreshTokenService.IssuedToken("refresh-token", 1L));
 
         // Act
-        AuthLoginResponse response = authService.signUp(signUpRequest);
+        AuthLoginResponse response = authService.register(signUpRequest);
 
         // Assert
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
         verify(userRepository, times(1)).findByEmail(signUpRequest.getEmail());
-        verify(passwordEncoder, times(1)).encode(signUpRequest.getPassword());
+        verify(passwordHashingService, times(1)).encode(signUpRequest.getPassword());
         verify(userRepository, times(1)).save(any(User.class));
     }
 
@@ -142,8 +152,8 @@ class AuthServiceTest {
         when(userRepository.findByEmail(signUpRequest.getEmail())).thenReturn(Optional.of(testUser));
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
-            authService.signUp(signUpRequest);
+        assertThrows(ResponseStatusException.class, () -> {
+            authService.register(signUpRequest);
         });
         verify(userRepository, never()).save(any(User.class));
     }
@@ -0,0 +1,50 @@
+package com.example.taskmanager.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ETags Unit Tests")
+class ETagsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+
+    @Test
+    @DisplayName("Should ignore precision below the stored microseconds")
+    void testTask_MicrosecondPrecision() {
+        assertEquals(ETags.task(1L, UPDATED_AT), ETags.task(1L, UPDATED_AT.withNano(123_456_000)));
+        assertNotEquals(ETags.task(1L, UPDATED_AT), ETags.task(1L, UPDATED_AT.withNano(123_457_000)));
+    }
+
+    @Test
+    @DisplayName("Should give tasks, projects and task lists distinct tags")
+    void testTags_DistinctKinds() {
+        assertNotEquals(ETags.task(1L, UPDATED_AT), ETags.project(1L, UPDATED_AT));
+        assertNotEquals(ETags.taskList(1L, 1L), ETags.taskList(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("If-None-Match should use weak comparison and accept lists and *")
+    void testNoneMatchHits() {
+        String etag = ETags.taskList(1L, 7L);
+
+        assertTrue(ETags.noneMatchHits(etag, etag));
+        assertTrue(ETags.noneMatchHits("\"other\", W/" + etag, etag));
+        assertTrue(ETags.noneMatchHits("*", etag));
+        assertFalse(ETags.noneMatchHits("\"other\"", etag));
+        assertFalse(ETags.noneMatchHits(null, etag));
+    }
+
+    @Test
+    @DisplayName("If-Match should use strong comparison")
+    void testMatches() {
+        String etag = ETags.task(1L, UPDATED_AT);
+
+        assertTrue(ETags.matches(etag, etag));
+        assertTrue(ETags.matches("*", etag));
+        assertFalse(ETags.matches("W/" + etag, etag));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService Unit Tests")
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed-" + rawPassword);
+        }
+    };
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and return the result")
+    void testEncode_Success() {
+        // Arrange
+        service = new PasswordHashingService(blockingEncoder, 1, 1, 1000, 1, 1, new SimpleMeterRegistry());
+        release.countDown();
+
+        // Act & Assert
+        assertEquals("hashed-secret", service.encode("secret"));
+        assertTrue(service.matches("secret", "hashed-secret"));
+    }
+
+    @Test
+    @DisplayName("Should reject work immediately when the queue is full")
+    void testEncode_RejectedWhenSaturated() throws Exception {
+        // Arrange
+        service = new PasswordHashingService(blockingEncoder, 1, 1, 5000, 2, 1, new SimpleMeterRegistry());
+        CompletableFuture.runAsync(() -> service.encode("running"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> service.encode("queued"));
+        Thread.sleep(100);
+
+        // Act & Assert
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> service.encode("overflow"));
+        assertEquals(2, ex.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.ResourceNotFoundException;
+import com.example.taskmanager.repositories.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProjectOwnershipCache Unit Tests")
+class ProjectOwnershipCacheTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+    private ProjectOwnershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProjectOwnershipCache(projectRepository, 2, Duration.ofMinutes(1), clock::get);
+    }
+
+    @Test
+    @DisplayName("Should load the owner once and answer repeat checks from the cache")
+    void testVerifyOwner_CachesOwner() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+
+        // Act
+        cache.verifyOwner(1L, 7L);
+        cache.verifyOwner(1L, 7L);
+
+        // Assert
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        verify(projectRepository, times(1)).findOwnerIdById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject other users from a cached project")
+    void testVerifyOwner_WrongUser() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+        cache.verifyOwner(1L, 7L);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> cache.verifyOwner(1L, 8L));
+        verify(projectRepository, times(1)).findOwnerIdById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache projects that do not exist")
+    void testVerifyOwner_MissingProjectNotCached() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> cache.verifyOwner(1L, 7L));
+        assertThrows(ResourceNotFoundException.class, () -> cache.verifyOwner(1L, 7L));
+        assertEquals(0, cache.size());
+        verify(projectRepository, times(2)).findOwnerIdById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload the owner once the entry's TTL has passed")
+    void testFindOwnerId_ExpiresAfterTtl() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+        cache.findOwnerId(1L);
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.findOwnerId(1L);
+
+        // Assert
+        verify(projectRepository, times(2)).findOwnerIdById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload the owner after invalidation")
+    void testInvalidate_RemovesEntry() {
+        // Arrange
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L), Optional.empty());
+        cache.verifyOwner(1L, 7L);
+
+        // Act
+        cache.invalidate(1L);
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> cache.verifyOwner(1L, 7L));
+        verify(projectRepository, times(2)).findOwnerIdById(1L);
+    }
+
+    @Test
+    @DisplayName("Should stay within its size bound")
+    void testFindOwnerId_BoundedSize() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            when(projectRepository.findOwnerIdById(id)).thenReturn(Optional.of(id));
+        }
+
+        // Act
+        for (long id = 1; id <= 5; id++) {
+            cache.findOwnerId(id);
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 2);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskmanager.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProjectPurger Unit Tests")
+class ProjectPurgerTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purger = new ProjectPurger(jdbcTemplate, new TransactionTemplate(transactionManager),
+                CHUNK_SIZE, 10, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        purger.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should delete tasks a chunk per transaction until none are left, then the project")
+    void testPurgePending_ChunksThenProject() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(10))).thenReturn(List.of(7L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM tasks"), eq(7L), eq(CHUNK_SIZE)))
+                .thenReturn(2, 1, 0);
+        when(jdbcTemplate.update(startsWith("DELETE FROM projects"), eq(7L))).thenReturn(1);
+
+        // Act
+        purger.purgePending();
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM tasks"), eq(7L), eq(CHUNK_SIZE));
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM projects"), eq(7L));
+        verify(transactionManager, times(4)).commit(any());
+        assertEquals(3, meterRegistry.counter("project.purge.tasks").count());
+        assertEquals(1, meterRegistry.counter("project.purge.projects").count());
+    }
+
+    @Test
+    @DisplayName("Should not count a project another instance already removed")
+    void testPurgePending_ProjectAlreadyRemoved() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(10))).thenReturn(List.of(7L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM tasks"), eq(7L), eq(CHUNK_SIZE))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("DELETE FROM projects"), eq(7L))).thenReturn(0);
+
+        // Act
+        purger.purgePending();
+
+        // Assert
+        assertEquals(0, meterRegistry.counter("project.purge.projects").count());
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks when the purge thread is interrupted")
+    void testPurgePending_Interrupted() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(10))).thenReturn(List.of(7L, 8L));
+        when(jdbcTemplate.update(startsWith("DELETE FROM tasks"), eq(7L), eq(CHUNK_SIZE))).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return 2;
+        });
+
+        // Act
+        try {
+            purger.purgePending();
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Assert
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE FROM tasks"), eq(7L), eq(CHUNK_SIZE));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM projects"), eq(7L));
+        verify(jdbcTemplate, never()).update(anyString(), eq(8L), eq(CHUNK_SIZE));
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.taskmanager.services;
 
 import com.example.taskmanager.dtos.CreateProjectRequest;
+import com.example.taskmanager.dtos.ProgressDTO;
 import com.example.taskmanager.dtos.ProjectDTO;
+import com.example.taskmanager.exceptions.PreconditionFailedException;
 import com.example.taskmanager.exceptions.ResourceNotFoundException;
 import com.example.taskmanager.models.Project;
 import com.example.taskmanager.models.User;
 import com.example.taskmanager.repositories.ProjectRepository;
+import com.example.taskmanager.repositories.ProjectTaskCounts;
 import com.example.taskmanager.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -39,6 +42,15 @@ class ProjectServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProjectOwnershipCache projectOwnershipCache;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskTitleSuggester taskTitleSuggester;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -51,7 +63,7 @@ class ProjectServiceTest {
         testUser = new User();
         testUser.setId(1L);
         testUser.setEmail("test@example.com");
-        testUser.setName("Test User");
+        testUser.setFullName("Test User");
 
         testProject = new Project();
         testProject.setId(1L);
@@ -100,9 +112,9 @@ class ProjectServiceTest {
     @DisplayName("Should get user projects with pagination")
     void testGetUserProjects_Success() {
         // Arrange
-        List<Project> projects = new ArrayList<>();
-        projects.add(testProject);
-        Page<Project> projectPage = new PageImpl<>(projects, PageRequest.of(0, 10), 1);
+        List<ProjectDTO> projects = new ArrayList<>();
+        projects.add(projectDTO(0L, 0L));
+        Page<ProjectDTO> projectPage = new PageImpl<>(projects, PageRequest.of(0, 10), 1);
 
         when(projectRepository.findByUserId(1L, PageRequest.of(0, 10))).thenReturn(projectPage);
 
@@ -113,14 +125,51 @@ class ProjectServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals("Test Project", result.getContent().get(0).getTitle());
+        assertNull(result.getContent().get(0).getProgress());
         verify(projectRepository, times(1)).findByUserId(1L, PageRequest.of(0, 10));
     }
 
+    @Test
+    @DisplayName("Should attach progress from the loaded project rows")
+    void testGetUserProjects_IncludeProgress() {
+        // Arrange
+        Page<ProjectDTO> projectPage = new PageImpl<>(List.of(projectDTO(4L, 1L)), PageRequest.of(0, 10), 1);
+        when(projectRepository.findByUserId(1L, PageRequest.of(0, 10))).thenReturn(projectPage);
+
+        // Act
+        Page<ProjectDTO> result = projectService.getUserProjects(1L, PageRequest.of(0, 10), true);
+
+        // Assert
+        ProgressDTO progress = result.getContent().get(0).getProgress();
+        assertEquals(4L, progress.getTotalTasks());
+        assertEquals(25.0, progress.getProgressPercentage());
+        verify(projectRepository, never()).findTaskCountsByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Should return progress for the requested projects in one query")
+    void testGetProjectsProgress_Success() {
+        // Arrange
+        ProjectTaskCounts counts = mock(ProjectTaskCounts.class);
+        when(counts.getProjectId()).thenReturn(1L);
+        when(counts.getTotalTasks()).thenReturn(2L);
+        when(counts.getCompletedTasks()).thenReturn(2L);
+        when(projectRepository.findTaskCountsByUserIdAndIdIn(1L, List.of(1L, 2L))).thenReturn(List.of(counts));
+
+        // Act
+        List<ProgressDTO> result = projectService.getProjectsProgress(1L, List.of(1L, 2L));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getProjectId());
+        assertEquals(100.0, result.get(0).getProgressPercentage());
+    }
+
     @Test
     @DisplayName("Should get project by ID successfully")
     void testGetProjectById_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.findDTOByIdAndUserId(1L, 1L)).thenReturn(Optional.of(projectDTO(2L, 1L)));
 
         // Act
         ProjectDTO result = projectService.getProjectById(1L, 1L);
@@ -128,14 +177,16 @@ class ProjectServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Test Project", result.getTitle());
-        verify(projectRepository, times(1)).findByIdAndUserId(1L, 1L);
+        assertNull(result.getProgress());
+        verify(projectRepository, times(1)).findDTOByIdAndUserId(1L, 1L);
+        verify(projectRepository, never()).findByIdAndUserId(any(), any());
     }
 
     @Test
     @DisplayName("Should throw exception when project not found")
     void testGetProjectById_NotFound() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(projectRepository.findDTOByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -148,7 +199,7 @@ class ProjectServiceTest {
     void testUpdateProject_Success() {
         // Arrange
         when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(projectRepository.save(any(Project.class))).thenReturn(testProject);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(testProject);
 
         CreateProjectRequest updateRequest = new CreateProjectRequest();
         updateRequest.setTitle("Updated Project");
@@ -160,34 +211,77 @@ class ProjectServiceTest {
         // Assert
         assertNotNull(result);
         verify(projectRepository, times(1)).findByIdAndUserId(1L, 1L);
-        verify(projectRepository, times(1)).save(any(Project.class));
+        verify(projectRepository, times(1)).saveAndFlush(any(Project.class));
     }
 
     @Test
-    @DisplayName("Should delete project successfully")
+    @DisplayName("Should update project when If-Match carries its current ETag")
+    void testUpdateProject_IfMatchCurrent() {
+        // Arrange
+        testProject.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(projectRepository.findByIdAndUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(testProject);
+        String etag = ETags.project(testProject.getId(), testProject.getUpdatedAt());
+
+        CreateProjectRequest updateRequest = new CreateProjectRequest();
+        updateRequest.setTitle("Updated Project");
+
+        // Act
+        ProjectDTO result = projectService.updateProject(1L, 1L, updateRequest, "\"other\", " + etag);
+
+        // Assert
+        assertEquals("Updated Project", result.getTitle());
+        verify(projectRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an update whose If-Match ETag is stale")
+    void testUpdateProject_IfMatchStale() {
+        // Arrange
+        testProject.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(projectRepository.findByIdAndUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(testProject));
+        String stale = ETags.project(testProject.getId(), testProject.getUpdatedAt().minusSeconds(1));
+
+        CreateProjectRequest updateRequest = new CreateProjectRequest();
+        updateRequest.setTitle("Updated Project");
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> projectService.updateProject(1L, 1L, updateRequest, stale));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+    }
+
+    @Test
+    @DisplayName("Should mark project as pending deletion without loading it")
     void testDeleteProject_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        doNothing().when(projectRepository).delete(testProject);
+        when(projectRepository.markDeleted(1L, 1L)).thenReturn(1);
 
         // Act
         projectService.deleteProject(1L, 1L);
 
         // Assert
-        verify(projectRepository, times(1)).findByIdAndUserId(1L, 1L);
-        verify(projectRepository, times(1)).delete(testProject);
+        verify(projectRepository, times(1)).markDeleted(1L, 1L);
+        verify(projectRepository, never()).findByIdAndUserId(any(), any());
+        verify(projectRepository, never()).delete(any(Project.class));
+        verify(projectOwnershipCache, times(1)).invalidate(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent project")
     void testDeleteProject_NotFound() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(projectRepository.markDeleted(1L, 1L)).thenReturn(0);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             projectService.deleteProject(1L, 1L);
         });
-        verify(projectRepository, never()).delete(any(Project.class));
+        verify(projectOwnershipCache, never()).invalidate(any());
+    }
+
+    private ProjectDTO projectDTO(Long totalTasks, Long completedTasks) {
+        return new ProjectDTO(testProject.getId(), testProject.getTitle(), testProject.getDescription(),
+                testUser.getId(), testProject.getCreatedAt(), testProject.getUpdatedAt(), totalTasks, completedTasks);
     }
 }
@@ -0,0 +1,165 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.exceptions.UnauthorizedException;
+import com.example.taskmanager.models.RefreshToken;
+import com.example.taskmanager.repositories.RefreshTokenRepository;
+import com.example.taskmanager.security.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    private static final String RAW_TOKEN = "raw-refresh-token";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private RefreshToken current;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 60_000L);
+        current = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash(TokenDigests.sha256Hex(RAW_TOKEN))
+                .expiresAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store only the hash of an issued token")
+    void testIssue() {
+        // Act
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(1L, issued.userId());
+        assertEquals(TokenDigests.sha256Hex(issued.token()), saved.getValue().getTokenHash());
+        assertNotEquals(issued.token(), saved.getValue().getTokenHash());
+    }
+
+    @Test
+    @DisplayName("Should consume the presented token and issue a new one in the same family")
+    void testRotate_Success() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate(RAW_TOKEN);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(1L, rotated.userId());
+        assertNotEquals(RAW_TOKEN, rotated.token());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a used token is presented again")
+    void testRotate_ReuseRevokesFamily() {
+        // Arrange
+        current.setUsedAt(LocalDateTime.now().minusSeconds(5));
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(RAW_TOKEN));
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should treat losing a concurrent rotation as reuse")
+    void testRotate_ConcurrentUse() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(RAW_TOKEN));
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token without consuming it or revoking the family")
+    void testRotate_Expired() {
+        // Arrange
+        current.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act
+        UnauthorizedException ex = assertThrows(UnauthorizedException.class,
+                () -> refreshTokenService.rotate(RAW_TOKEN));
+
+        // Assert
+        assertEquals("Refresh token expired", ex.getMessage());
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token without touching the family again")
+    void testRotate_Revoked() {
+        // Arrange
+        current.setRevokedAt(LocalDateTime.now().minusSeconds(5));
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(RAW_TOKEN));
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown token")
+    void testRotate_Unknown() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("unknown"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family of a token on logout")
+    void testRevoke() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act
+        refreshTokenService.revoke(RAW_TOKEN);
+
+        // Assert
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskSearchIndex Unit Tests")
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+    private List<TaskDTO> tasks;
+    private AtomicInteger loads;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        index = index(DataSize.ofMegabytes(1));
+        tasks = new ArrayList<>(List.of(
+                task(1L, 1L, "Replace part AB_12", null),
+                task(2L, 1L, "Replace part ABX12", "Ordered from supplier"),
+                task(3L, 1L, "Discount 50% off", "Spring sale")));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should match substrings of title or description case-insensitively")
+    void testSearch_Contains() {
+        assertEquals(List.of(1L, 2L), ids(search(1L, "REPLACE part")));
+        assertEquals(List.of(2L), ids(search(1L, "supplier")));
+        assertEquals(List.of(), ids(search(1L, "missing")));
+    }
+
+    @Test
+    @DisplayName("Should treat wildcards and short terms literally")
+    void testSearch_LiteralAndShortTerms() {
+        assertEquals(List.of(1L), ids(search(1L, "ab_12")));
+        assertEquals(List.of(3L), ids(search(1L, "50%")));
+        assertEquals(List.of(1L, 2L), ids(search(1L, "ab")));
+    }
+
+    @Test
+    @DisplayName("Should load a project once and page through the matches")
+    void testSearch_LoadsOnceAndPages() {
+        // Act
+        search(1L, "part");
+        Page<TaskDTO> second = index.search(1L, "part", PageRequest.of(1, 1), this::load).orElseThrow();
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(List.of(2L), ids(second));
+        assertEquals(2, second.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should apply saved and deleted tasks to an indexed project")
+    void testSearch_IncrementalUpdates() {
+        // Arrange
+        search(1L, "part");
+
+        // Act
+        index.taskSaved(task(2L, 1L, "Renamed", null));
+        index.taskSaved(task(4L, 1L, "Another part", null));
+        index.taskDeleted(1L, 1L);
+
+        // Assert
+        assertEquals(List.of(4L), ids(search(1L, "part")));
+        assertEquals(List.of(2L), ids(search(1L, "renamed")));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not revive a deleted task from a late save")
+    void testSearch_DeleteWins() {
+        // Arrange
+        search(1L, "part");
+
+        // Act
+        index.taskDeleted(1L, 1L);
+        index.taskSaved(task(1L, 1L, "Replace part AB_12", null));
+
+        // Assert
+        assertEquals(List.of(2L), ids(search(1L, "part")));
+    }
+
+    @Test
+    @DisplayName("Should let a deleted task's id be indexed again once its tombstone expires")
+    void testSearch_TombstonesExpire() {
+        // Arrange
+        search(1L, "part");
+        index.taskDeleted(1L, 1L);
+
+        // Act
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        index.taskDeleted(1L, 3L);
+
+        // Assert
+        index.taskSaved(task(1L, 1L, "Replace part AB_12", null));
+        assertEquals(List.of(1L, 2L), ids(search(1L, "part")));
+    }
+
+    @Test
+    @DisplayName("Should apply writes that commit while a project is loading")
+    void testSearch_WritesDuringLoad() {
+        // Arrange
+        List<Optional<Page<TaskDTO>>> concurrent = new ArrayList<>();
+        Page<TaskDTO> first = index.search(1L, "part", PageRequest.of(0, 20), () -> {
+            List<TaskDTO> snapshot = load();
+            index.taskSaved(task(4L, 1L, "Another part", null));
+            index.taskDeleted(1L, 1L);
+            concurrent.add(index.search(1L, "part", PageRequest.of(0, 20), this::load));
+            return snapshot;
+        }).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(2L, 4L), ids(first));
+        assertEquals(List.of(Optional.empty()), concurrent);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should leave a project larger than the budget to the database until the retry interval")
+    void testSearch_Oversized() {
+        // Arrange
+        index = index(DataSize.ofBytes(600));
+
+        // Act & Assert
+        assertTrue(index.search(1L, "part", PageRequest.of(0, 20), this::load).isEmpty());
+        assertTrue(index.search(1L, "part", PageRequest.of(0, 20), this::load).isEmpty());
+        assertEquals(1, loads.get());
+        assertEquals(0, index.usedBytes());
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        tasks = List.of(task(1L, 1L, "part", null));
+        assertEquals(List.of(1L), ids(search(1L, "part")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a project after it is invalidated")
+    void testInvalidateProject() {
+        // Arrange
+        search(1L, "part");
+        tasks.add(task(5L, 1L, "Bulk imported part", null));
+
+        // Act
+        index.invalidateProject(1L);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 5L), ids(search(1L, "part")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used project beyond the memory budget")
+    void testEviction() {
+        // Arrange
+        index = index(DataSize.ofKilobytes(16));
+        for (long projectId = 1; projectId <= 20; projectId++) {
+            tasks = List.of(task(projectId * 100, projectId, "Task of project " + projectId, "Some notes"));
+            search(projectId, "task");
+        }
+
+        // Assert
+        assertTrue(index.usedBytes() <= DataSize.ofKilobytes(16).toBytes());
+        assertTrue(index.indexedProjects() < 20);
+        assertEquals(List.of(2000L), ids(search(20L, "task")));
+    }
+
+    @Test
+    @DisplayName("Should ignore writes while disabled")
+    void testDisabled() {
+        // Arrange
+        index = new TaskSearchIndex(false, DataSize.ofMegabytes(1), Duration.ofMinutes(10),
+                new SimpleMeterRegistry(), now::get);
+
+        // Act
+        index.taskSaved(task(1L, 1L, "Ignored", null));
+
+        // Assert
+        assertFalse(index.isEnabled());
+        assertEquals(0, index.indexedProjects());
+    }
+
+    private TaskSearchIndex index(DataSize maxSize) {
+        return new TaskSearchIndex(true, maxSize, Duration.ofMinutes(10), new SimpleMeterRegistry(), now::get);
+    }
+
+    private Page<TaskDTO> search(Long projectId, String term) {
+        return index.search(projectId, term, PageRequest.of(0, 20), this::load).orElseThrow();
+    }
+
+    private List<TaskDTO> load() {
+        loads.incrementAndGet();
+        return List.copyOf(tasks);
+    }
+
+    private static List<Long> ids(Page<TaskDTO> page) {
+        return page.getContent().stream().map(TaskDTO::getId).toList();
+    }
+
+    private static TaskDTO task(Long id, Long projectId, String title, String description) {
+        return TaskDTO.builder()
+                .id(id)
+                .projectId(projectId)
+                .title(title)
+                .description(description)
+                .isCompleted(false)
+                .build();
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.BulkTaskRequest;
+import com.example.taskmanager.dtos.BulkTaskResponse;
+import com.example.taskmanager.dtos.CreateTaskRequest;
+import com.example.taskmanager.dtos.ProgressDTO;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.dtos.TaskSearchMode;
+import com.example.taskmanager.dtos.TaskFilter;
+import com.example.taskmanager.exceptions.ResourceNotFoundException;
+import com.example.taskmanager.models.Project;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.models.User;
+import com.example.taskmanager.repositories.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements each TaskService operation issues, so an
+ * extra lookup sneaking back into a hot path fails the build. The ownership
+ * cache is disabled to count the uncached worst case.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, ProjectOwnershipCache.class, TaskSearchIndex.class, TaskTitleSuggester.class,
+        TaskServiceStatementCountTest.MetricsConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.cache.project-ownership.max-size=0"
+})
+@DisplayName("TaskService SQL Statement Counts")
+class TaskServiceStatementCountTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User otherUser;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = entityManager.persist(User.builder()
+                .email("owner@example.com")
+                .passwordHash("hash")
+                .build());
+        otherUser = entityManager.persist(User.builder()
+                .email("other@example.com")
+                .passwordHash("hash")
+                .build());
+        project = entityManager.persist(Project.builder()
+                .title("Project")
+                .user(owner)
+                .build());
+        task = entityManager.persist(Task.builder()
+                .title("Task")
+                .isCompleted(false)
+                .project(project)
+                .build());
+        projectRepository.adjustTaskCounters(project.getId(), 1, 0);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("getTaskById should issue one query")
+    void testGetTaskById() {
+        assertEquals(1, statementsFor(() -> taskService.getTaskById(task.getId(), project.getId(), owner.getId())));
+    }
+
+    @Test
+    @DisplayName("Read paths should select DTOs without loading or managing any entity")
+    void testReadPaths_NoEntities() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        TaskDTO byId = taskService.getTaskById(task.getId(), project.getId(), owner.getId());
+        taskService.getProjectTasks(project.getId(), owner.getId(), PageRequest.of(0, 20, Sort.by("createdAt", "id")));
+        taskService.getProjectTasks(project.getId(), owner.getId(), "", 20);
+        taskService.searchTasks(project.getId(), owner.getId(), "task", PageRequest.of(0, 20));
+        taskService.getProjectTasks(project.getId(), owner.getId(), TaskField.SUMMARY, PageRequest.of(0, 20));
+        taskService.searchTasks(project.getId(), owner.getId(), "task", TaskSearchMode.CONTAINS,
+                TaskField.SUMMARY, PageRequest.of(0, 20));
+
+        // Assert
+        assertEquals(project.getId(), byId.getProjectId());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("A sparse task page should issue the owner check and one select, skipping the count")
+    void testGetProjectTasks_Fields() {
+        assertEquals(2, statementsFor(() -> taskService.getProjectTasks(project.getId(), owner.getId(),
+                TaskField.SUMMARY, PageRequest.of(0, 20, Sort.by("createdAt", "id")))));
+    }
+
+    @Test
+    @DisplayName("updateTask should issue one query, one update and one list version bump")
+    void testUpdateTask() {
+        // Arrange
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Renamed");
+        request.setDueDate(LocalDate.now());
+
+        // Act & Assert
+        assertEquals(3, statementsFor(() -> taskService.updateTask(task.getId(), project.getId(), owner.getId(), request)));
+    }
+
+    @Test
+    @DisplayName("A conditional GET should match the ETag returned by the PUT")
+    void testUpdateTask_ETagRoundTrip() {
+        // Arrange
+        CreateTaskRequest request = new CreateTaskRequest();
+
+        // Each write stamps a new time, so a few of them expose any rounding on the way to the database
+        for (int i = 0; i < 10; i++) {
+            // Act
+            request.setTitle("Renamed " + i);
+            TaskDTO updated = taskService.updateTask(task.getId(), project.getId(), owner.getId(), request);
+            String putTag = ETags.task(updated.getId(), updated.getUpdatedAt());
+            entityManager.flush();
+            entityManager.clear();
+
+            // Assert
+            assertEquals(putTag, taskService.getTaskTag(task.getId(), project.getId(), owner.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("createTask should issue an owner lookup, the insert and one counter update")
+    void testCreateTask() {
+        // Arrange
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("New");
+        request.setDueDate(LocalDate.now());
+
+        // Act & Assert
+        assertEquals(3, statementsFor(() -> taskService.createTask(project.getId(), owner.getId(), request)));
+    }
+
+    @Test
+    @DisplayName("createTasks should batch the inserts into a single statement")
+    void testCreateTasks() {
+        // Arrange
+        List<CreateTaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Imported " + i);
+            requests.add(request);
+        }
+
+        // Act
+        long statements = statementsFor(() -> taskService.createTasks(project.getId(), owner.getId(), requests));
+
+        // Assert: owner lookup, at most one id block from the sequence, the insert batch and the counter update
+        assertTrue(statements <= 4, "expected at most 4 statements but was " + statements);
+        assertEquals(40, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("completeTask should issue one locking query, one update and one counter update")
+    void testCompleteTask() {
+        assertEquals(3, statementsFor(() -> taskService.completeTask(task.getId(), project.getId(), owner.getId())));
+    }
+
+    @Test
+    @DisplayName("deleteTask should issue one query, one delete and one counter update")
+    void testDeleteTask() {
+        assertEquals(3, statementsFor(() -> taskService.deleteTask(task.getId(), project.getId(), owner.getId())));
+    }
+
+    @Test
+    @DisplayName("getProjectProgress should issue one query")
+    void testGetProjectProgress() {
+        assertEquals(1, statementsFor(() -> taskService.getProjectProgress(project.getId(), owner.getId())));
+    }
+
+    @Test
+    @DisplayName("Counters should follow task creation, completion and deletion")
+    void testTaskCounters() {
+        // Arrange
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Second");
+        request.setDueDate(LocalDate.now());
+
+        // Act
+        taskService.createTask(project.getId(), owner.getId(), request);
+        taskService.completeTask(task.getId(), project.getId(), owner.getId());
+        taskService.completeTask(task.getId(), project.getId(), owner.getId());
+        entityManager.flush();
+        ProgressDTO afterComplete = taskService.getProjectProgress(project.getId(), owner.getId());
+        taskService.deleteTask(task.getId(), project.getId(), owner.getId());
+        entityManager.flush();
+        ProgressDTO afterDelete = taskService.getProjectProgress(project.getId(), owner.getId());
+
+        // Assert
+        assertEquals(2L, afterComplete.getTotalTasks());
+        assertEquals(1L, afterComplete.getCompletedTasks());
+        assertEquals(1L, afterDelete.getTotalTasks());
+        assertEquals(0L, afterDelete.getCompletedTasks());
+    }
+
+    @Test
+    @DisplayName("bulkCompleteTasks should run one update without loading tasks and keep counters exact")
+    void testBulkCompleteTasks() {
+        // Arrange
+        Task done = persistTask("Done", true);
+        Task open = persistTask("Open", false);
+        BulkTaskRequest request = BulkTaskRequest.builder()
+                .taskIds(List.of(task.getId(), done.getId(), open.getId()))
+                .build();
+
+        // Act
+        BulkTaskResponse[] response = new BulkTaskResponse[1];
+        long statements = statementsFor(() -> response[0] = taskService.bulkCompleteTasks(project.getId(), owner.getId(), request));
+
+        // Assert: owner lookup, the update and the counter update
+        assertEquals(3, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, response[0].getAffected());
+        ProgressDTO progress = taskService.getProjectProgress(project.getId(), owner.getId());
+        assertEquals(3L, progress.getTotalTasks());
+        assertEquals(3L, progress.getCompletedTasks());
+    }
+
+    @Test
+    @DisplayName("bulkDeleteTasks should delete by filter and keep counters exact")
+    void testBulkDeleteTasks() {
+        // Arrange
+        persistTask("Done", true);
+        persistTask("Open", false);
+        BulkTaskRequest request = BulkTaskRequest.builder()
+                .filter(new TaskFilter())
+                .build();
+
+        // Act
+        BulkTaskResponse[] response = new BulkTaskResponse[1];
+        long statements = statementsFor(() -> response[0] = taskService.bulkDeleteTasks(project.getId(), owner.getId(), request));
+
+        // Assert: owner lookup, one delete per completion state and the counter update
+        assertEquals(4, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, response[0].getAffected());
+        ProgressDTO progress = taskService.getProjectProgress(project.getId(), owner.getId());
+        assertEquals(0L, progress.getTotalTasks());
+        assertEquals(0L, progress.getCompletedTasks());
+    }
+
+    @Test
+    @DisplayName("bulkMoveTasks should move counters along with the tasks")
+    void testBulkMoveTasks() {
+        // Arrange
+        persistTask("Done", true);
+        Project target = entityManager.persist(Project.builder()
+                .title("Target")
+                .user(owner)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        BulkTaskRequest request = BulkTaskRequest.builder()
+                .filter(new TaskFilter())
+                .targetProjectId(target.getId())
+                .build();
+
+        // Act
+        BulkTaskResponse response = taskService.bulkMoveTasks(project.getId(), owner.getId(), request);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(2, response.getAffected());
+        ProgressDTO source = taskService.getProjectProgress(project.getId(), owner.getId());
+        ProgressDTO moved = taskService.getProjectProgress(target.getId(), owner.getId());
+        assertEquals(0L, source.getTotalTasks());
+        assertEquals(2L, moved.getTotalTasks());
+        assertEquals(1L, moved.getCompletedTasks());
+    }
+
+    @Test
+    @DisplayName("bulkMoveTasks should refuse another user's target project")
+    void testBulkMoveTasks_TargetNotOwned() {
+        // Arrange
+        Project foreign = entityManager.persist(Project.builder()
+                .title("Foreign")
+                .user(otherUser)
+                .build());
+        entityManager.flush();
+        BulkTaskRequest request = BulkTaskRequest.builder()
+                .taskIds(List.of(task.getId()))
+                .targetProjectId(foreign.getId())
+                .build();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.bulkMoveTasks(project.getId(), owner.getId(), request));
+    }
+
+    @Test
+    @DisplayName("Should report a missing task as task not found")
+    void testGetTaskById_TaskNotFound() {
+        // Act
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> taskService.getTaskById(task.getId() + 1000, project.getId(), owner.getId()));
+
+        // Assert
+        assertEquals("Task not found", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should report another user's project as project not found")
+    void testGetTaskById_ProjectNotOwned() {
+        // Act
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> taskService.getTaskById(task.getId(), project.getId(), otherUser.getId()));
+
+        // Assert
+        assertEquals("Project not found", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should hide a project pending deletion and its tasks")
+    void testPendingDeletion_Hidden() {
+        // Arrange
+        assertEquals(1, projectRepository.markDeleted(project.getId(), owner.getId()));
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.getTaskById(task.getId(), project.getId(), owner.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.getProjectProgress(project.getId(), owner.getId()));
+        assertTrue(projectRepository.findById(project.getId()).isEmpty());
+        assertEquals(0, projectRepository.markDeleted(project.getId(), owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for a task created in a project deleted after its owner was cached")
+    void testCreateTask_ProjectDeletedElsewhere() {
+        // Arrange
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Late");
+        taskService.createTask(project.getId(), owner.getId(), request);
+        // Marked deleted without going through ProjectService, as another node would
+        assertEquals(1, projectRepository.markDeleted(project.getId(), owner.getId()));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.createTask(project.getId(), owner.getId(), request));
+    }
+
+    private Task persistTask(String title, boolean completed) {
+        Task persisted = entityManager.persist(Task.builder()
+                .title(title)
+                .isCompleted(completed)
+                .project(entityManager.find(Project.class, project.getId()))
+                .build());
+        projectRepository.adjustTaskCounters(project.getId(), 1, completed ? 1 : 0);
+        entityManager.flush();
+        entityManager.clear();
+        return persisted;
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,13 +1,25 @@
 package com.example.taskmanager.services;
 
+import com.example.taskmanager.dtos.BulkTaskRequest;
+import com.example.taskmanager.dtos.BulkTaskResponse;
 import com.example.taskmanager.dtos.CreateTaskRequest;
+import com.example.taskmanager.dtos.CursorPage;
+import com.example.taskmanager.dtos.ProgressDTO;
+import com.example.taskmanager.dtos.SlicePage;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskField;
+import com.example.taskmanager.dtos.TaskFilter;
+import com.example.taskmanager.dtos.TaskSearchMode;
+import com.example.taskmanager.exceptions.BadRequestException;
+import com.example.taskmanager.exceptions.PreconditionFailedException;
 import com.example.taskmanager.exceptions.ResourceNotFoundException;
 import com.example.taskmanager.models.Project;
 import com.example.taskmanager.models.Task;
 import com.example.taskmanager.models.User;
 import com.example.taskmanager.repositories.ProjectRepository;
+import com.example.taskmanager.repositories.ProjectTaskCounts;
 import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.repositories.TaskSelection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,18 +27,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -40,12 +62,22 @@ class TaskServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ProjectOwnershipCache projectOwnershipCache;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskTitleSuggester taskTitleSuggester;
+
     @InjectMocks
     private TaskService taskService;
 
     private User testUser;
     private Project testProject;
     private Task testTask;
+    private TaskDTO testTaskDTO;
     private CreateTaskRequest createTaskRequest;
 
     @BeforeEach
@@ -68,6 +100,8 @@ class TaskServiceTest {
         testTask.setProject(testProject);
         testTask.setCreatedAt(LocalDateTime.now());
 
+        testTaskDTO = taskDTO(1L, testTask.getCreatedAt());
+
         createTaskRequest = new CreateTaskRequest();
         createTaskRequest.setTitle("New Task");
         createTaskRequest.setDescription("New Description");
@@ -78,8 +112,9 @@ class TaskServiceTest {
     @DisplayName("Should create task successfully")
     void testCreateTask_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.getReferenceById(1L)).thenReturn(testProject);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(projectRepository.adjustTaskCounters(1L, 1, 0)).thenReturn(1);
 
         // Act
         TaskDTO result = taskService.createTask(1L, 1L, createTaskRequest);
@@ -88,15 +123,18 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
         assertEquals("Test Description", result.getDescription());
-        verify(projectRepository, times(1)).findByIdAndUserId(1L, 1L);
+        verify(projectOwnershipCache, times(1)).verifyOwner(1L, 1L);
+        verify(projectRepository, never()).findByIdAndUserId(any(), any());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 1, 0);
     }
 
     @Test
     @DisplayName("Should throw exception when project not found for task creation")
     void testCreateTask_ProjectNotFound() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        doThrow(new ResourceNotFoundException("Project not found"))
+                .when(projectOwnershipCache).verifyOwner(1L, 1L);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -105,15 +143,111 @@ class TaskServiceTest {
         verify(taskRepository, never()).save(any(Task.class));
     }
 
+    @Test
+    @DisplayName("Should create tasks in bulk with one ownership check and one counter update")
+    void testCreateTasks_Success() {
+        // Arrange
+        when(projectRepository.getReferenceById(1L)).thenReturn(testProject);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectRepository.adjustTaskCounters(1L, 2, 0)).thenReturn(1);
+
+        // Act
+        List<TaskDTO> result = taskService.createTasks(1L, 1L, List.of(createTaskRequest, createTaskRequest));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("New Task", result.get(1).getTitle());
+        verify(projectOwnershipCache, times(1)).verifyOwner(1L, 1L);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 2, 0);
+        verify(taskSearchIndex, times(1)).invalidateProject(1L);
+        verify(taskTitleSuggester, times(1)).invalidateProject(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer 404 and evict the owner when a cached project was deleted elsewhere")
+    void testCreateTask_ProjectDeletedSinceCached() {
+        // Arrange
+        when(projectRepository.getReferenceById(1L)).thenReturn(testProject);
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(projectRepository.adjustTaskCounters(1L, 1, 0)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(1L, 1L, createTaskRequest));
+        verify(projectOwnershipCache, times(1)).invalidate(1L);
+        verify(taskSearchIndex, never()).taskSaved(any(TaskDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should answer 404 and evict the owner when the inserts hit a purged project's foreign key")
+    void testCreateTasks_ProjectPurgedSinceCached() {
+        // Arrange
+        when(projectRepository.getReferenceById(1L)).thenReturn(testProject);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectRepository.adjustTaskCounters(1L, 1, 0))
+                .thenThrow(new DataIntegrityViolationException("fk_tasks_project"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.createTasks(1L, 1L, List.of(createTaskRequest)));
+        verify(projectOwnershipCache, times(1)).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Should delete completed and open tasks separately to adjust both counters")
+    void testBulkDeleteTasks_AdjustsCounters() {
+        // Arrange
+        BulkTaskRequest request = BulkTaskRequest.builder().taskIds(List.of(1L, 2L, 3L)).build();
+        when(taskRepository.bulkDelete(eq(1L), eq(1L), any(TaskSelection.class), eq(true))).thenReturn(1);
+        when(taskRepository.bulkDelete(eq(1L), eq(1L), any(TaskSelection.class), eq(false))).thenReturn(2);
+
+        // Act
+        BulkTaskResponse result = taskService.bulkDeleteTasks(1L, 1L, request);
+
+        // Assert
+        assertEquals(3, result.getAffected());
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, -3, -1);
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should skip the update when the filter only matches tasks already completed")
+    void testBulkCompleteTasks_NothingToChange() {
+        // Arrange
+        BulkTaskRequest request = BulkTaskRequest.builder()
+                .filter(TaskFilter.builder().completed(true).build())
+                .build();
+
+        // Act
+        BulkTaskResponse result = taskService.bulkCompleteTasks(1L, 1L, request);
+
+        // Assert
+        assertEquals(0, result.getAffected());
+        verify(taskRepository, never()).bulkSetCompleted(any(), any(), any(), anyBoolean());
+        verify(projectRepository, never()).adjustTaskCounters(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should require exactly one of task ids or filter")
+    void testBulkTasks_InvalidSelection() {
+        assertThrows(BadRequestException.class,
+                () -> taskService.bulkCompleteTasks(1L, 1L, new BulkTaskRequest()));
+        assertThrows(BadRequestException.class,
+                () -> taskService.bulkDeleteTasks(1L, 1L, BulkTaskRequest.builder()
+                        .taskIds(List.of(1L))
+                        .filter(new TaskFilter())
+                        .build()));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     @DisplayName("Should get project tasks with pagination")
     void testGetProjectTasks_Success() {
         // Arrange
-        List<Task> tasks = new ArrayList<>();
-        tasks.add(testTask);
-        Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 1);
+        List<TaskDTO> tasks = new ArrayList<>();
+        tasks.add(testTaskDTO);
+        Page<TaskDTO> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 1);
 
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
         when(taskRepository.findByProjectId(1L, PageRequest.of(0, 10))).thenReturn(taskPage);
 
         // Act
@@ -126,16 +260,64 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findByProjectId(1L, PageRequest.of(0, 10));
     }
 
+    @Test
+    @DisplayName("Should page tasks by cursor and resume after the last row")
+    void testGetProjectTasks_Cursor() {
+        // Arrange
+        TaskDTO second = taskDTO(2L, testTask.getCreatedAt().plusSeconds(1));
+        when(taskRepository.findFirstPageByProjectId(1L, Limit.of(2))).thenReturn(List.of(testTaskDTO, second));
+        when(taskRepository.findPageByProjectIdAfter(1L, testTask.getCreatedAt(), 1L, Limit.of(2)))
+                .thenReturn(List.of(second));
+
+        // Act
+        CursorPage<TaskDTO> first = taskService.getProjectTasks(1L, 1L, "", 1);
+        CursorPage<TaskDTO> next = taskService.getProjectTasks(1L, 1L, first.getNextCursor(), 1);
+
+        // Assert
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(1L), first.getContent().stream().map(TaskDTO::getId).toList());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+        assertEquals(List.of(2L), next.getContent().stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testGetProjectTasks_InvalidCursor() {
+        assertThrows(BadRequestException.class, () -> taskService.getProjectTasks(1L, 1L, "not-a-cursor", 10));
+        verify(taskRepository, never()).findPageByProjectIdAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return a slice with the counter total and no COUNT query")
+    void testGetProjectTaskSlice_WithTotal() {
+        // Arrange
+        ProjectTaskCounts counts = mock(ProjectTaskCounts.class);
+        when(counts.getTotalTasks()).thenReturn(42L);
+        when(projectRepository.findTaskCounts(1L, 1L)).thenReturn(Optional.of(counts));
+        when(taskRepository.findSliceByProjectId(1L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(testTaskDTO), PageRequest.of(0, 1), true));
+
+        // Act
+        SlicePage<TaskDTO> result = taskService.getProjectTaskSlice(1L, 1L, PageRequest.of(0, 1), true);
+
+        // Assert
+        assertTrue(result.isHasNext());
+        assertEquals(42L, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        verify(projectOwnershipCache, never()).verifyOwner(any(), any());
+        verify(taskRepository, never()).findByProjectId(any(), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Should search tasks successfully")
     void testSearchTasks_Success() {
         // Arrange
-        List<Task> tasks = new ArrayList<>();
-        tasks.add(testTask);
-        Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 1);
+        List<TaskDTO> tasks = new ArrayList<>();
+        tasks.add(testTaskDTO);
+        Page<TaskDTO> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 10), 1);
 
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.searchTasks(1L, "Test", PageRequest.of(0, 10))).thenReturn(taskPage);
+        when(taskRepository.searchTasks(1L, "%Test%", PageRequest.of(0, 10))).thenReturn(taskPage);
 
         // Act
         Page<TaskDTO> result = taskService.searchTasks(1L, 1L, "Test", PageRequest.of(0, 10));
@@ -143,15 +325,97 @@ class TaskServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(taskRepository, times(1)).searchTasks(1L, "Test", PageRequest.of(0, 10));
+        verify(taskRepository, times(1)).searchTasks(1L, "%Test%", PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should search in the database when the in-memory index can't serve the project")
+    void testSearchTasks_IndexFallsBack() {
+        // Arrange
+        Page<TaskDTO> taskPage = new PageImpl<>(List.of(testTaskDTO), PageRequest.of(0, 10), 1);
+        when(taskSearchIndex.isEnabled()).thenReturn(true);
+        when(taskSearchIndex.search(eq(1L), eq("Test"), eq(PageRequest.of(0, 10)), any())).thenReturn(Optional.empty());
+        when(taskRepository.searchTasks(1L, "%Test%", PageRequest.of(0, 10))).thenReturn(taskPage);
+
+        // Act
+        Page<TaskDTO> result = taskService.searchTasks(1L, 1L, "Test", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        verify(taskRepository, never()).findAllByProjectIdOrderById(any());
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in the search term")
+    void testContainsPattern_EscapesWildcards() {
+        assertEquals("%50\\%\\_off\\\\%", TaskService.containsPattern("50%_off\\"));
+        assertEquals("%PN-1234%", TaskService.containsPattern("PN-1234"));
+    }
+
+    @Test
+    @DisplayName("Should route full-text mode to the ranked tsvector query")
+    void testSearchTasks_FullText() {
+        // Arrange
+        Page<Task> taskPage = new PageImpl<>(List.of(testTask), PageRequest.of(0, 10), 1);
+        when(taskRepository.fullTextSearch(1L, "test -draft", PageRequest.of(0, 10))).thenReturn(taskPage);
+
+        // Act
+        Page<TaskDTO> result = taskService.searchTasks(1L, 1L, "test -draft", TaskSearchMode.FULLTEXT, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        verify(taskRepository, never()).searchTasks(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should select sparse task fields in the query")
+    void testGetProjectTasks_Fields() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Map<String, Object>> rows = new PageImpl<>(List.of(Map.of("id", 1L, "title", "Test Task")), pageable, 1);
+        when(taskRepository.findFields(1L, null, TaskField.SUMMARY, pageable)).thenReturn(rows);
+
+        // Act
+        Page<Map<String, Object>> result = taskService.getProjectTasks(1L, 1L, TaskField.SUMMARY, pageable);
+
+        // Assert
+        assertSame(rows, result);
+        verify(projectOwnershipCache).verifyOwner(1L, 1L);
+        verify(taskRepository, never()).findByProjectId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should trim full-text results to the requested fields")
+    void testSearchTasks_FullTextFields() {
+        // Arrange
+        Page<Task> taskPage = new PageImpl<>(List.of(testTask), PageRequest.of(0, 10), 1);
+        when(taskRepository.fullTextSearch(1L, "test", PageRequest.of(0, 10))).thenReturn(taskPage);
+
+        // Act
+        Page<Map<String, Object>> result = taskService.searchTasks(1L, 1L, "test", TaskSearchMode.FULLTEXT,
+                EnumSet.of(TaskField.ID, TaskField.TITLE), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(Map.of("id", testTask.getId(), "title", testTask.getTitle()), result.getContent().get(0));
+        verify(taskRepository, never()).findFields(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should resolve fields and view parameters")
+    void testTaskFieldSelect() {
+        assertNull(TaskField.select(null, null));
+        assertNull(TaskField.select(null, "full"));
+        assertEquals(TaskField.SUMMARY, TaskField.select(null, "summary"));
+        assertEquals(Set.of(TaskField.ID, TaskField.DUE_DATE), TaskField.select("dueDate", null));
+        assertThrows(BadRequestException.class, () -> TaskField.select("secret", null));
+        assertThrows(BadRequestException.class, () -> TaskField.select("title", "summary"));
     }
 
     @Test
     @DisplayName("Should get task by ID successfully")
     void testGetTaskById_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findOwnedTaskDTO(1L, 1L, 1L)).thenReturn(Optional.of(testTaskDTO));
 
         // Act
         TaskDTO result = taskService.getTaskById(1L, 1L, 1L);
@@ -159,15 +423,15 @@ class TaskServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
-        verify(taskRepository, times(1)).findByIdAndProjectId(1L, 1L);
+        verify(taskRepository, times(1)).findOwnedTaskDTO(1L, 1L, 1L);
+        verify(taskRepository, never()).findOwnedTask(any(), any(), any());
     }
 
     @Test
     @DisplayName("Should update task successfully")
     void testUpdateTask_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findOwnedTask(1L, 1L, 1L)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         CreateTaskRequest updateRequest = new CreateTaskRequest();
@@ -180,49 +444,82 @@ class TaskServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(taskRepository, times(1)).findByIdAndProjectId(1L, 1L);
+        verify(taskRepository, times(1)).findOwnedTask(1L, 1L, 1L);
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    @DisplayName("Should reject an update whose If-Match ETag is stale")
+    void testUpdateTask_IfMatchStale() {
+        // Arrange
+        testTask.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(taskRepository.findOwnedTaskForUpdate(1L, 1L, 1L)).thenReturn(Optional.of(testTask));
+        String stale = ETags.task(testTask.getId(), testTask.getUpdatedAt().minusSeconds(1));
+
+        CreateTaskRequest updateRequest = new CreateTaskRequest();
+        updateRequest.setTitle("Updated Task");
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(1L, 1L, 1L, updateRequest, stale));
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectRepository, never()).bumpTasksVersion(any());
+    }
+
     @Test
     @DisplayName("Should mark task as completed successfully")
     void testMarkTaskCompleted_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findOwnedTaskForUpdate(1L, 1L, 1L)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         // Act
-        TaskDTO result = taskService.markTaskCompleted(1L, 1L, 1L);
+        TaskDTO result = taskService.completeTask(1L, 1L, 1L);
 
         // Assert
         assertNotNull(result);
-        verify(taskRepository, times(1)).findByIdAndProjectId(1L, 1L);
+        verify(taskRepository, times(1)).findOwnedTaskForUpdate(1L, 1L, 1L);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should not count an already completed task twice")
+    void testCompleteTask_AlreadyCompleted() {
+        // Arrange
+        testTask.setIsCompleted(true);
+        when(taskRepository.findOwnedTaskForUpdate(1L, 1L, 1L)).thenReturn(Optional.of(testTask));
+
+        // Act
+        TaskDTO result = taskService.completeTask(1L, 1L, 1L);
+
+        // Assert
+        assertTrue(result.getIsCompleted());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectRepository, never()).adjustTaskCounters(any(), anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("Should delete task successfully")
     void testDeleteTask_Success() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findOwnedTaskForUpdate(1L, 1L, 1L)).thenReturn(Optional.of(testTask));
         doNothing().when(taskRepository).delete(testTask);
 
         // Act
         taskService.deleteTask(1L, 1L, 1L);
 
         // Assert
-        verify(taskRepository, times(1)).findByIdAndProjectId(1L, 1L);
+        verify(taskRepository, times(1)).findOwnedTaskForUpdate(1L, 1L, 1L);
         verify(taskRepository, times(1)).delete(testTask);
+        verify(projectRepository, times(1)).adjustTaskCounters(1L, -1, 0);
     }
 
     @Test
     @DisplayName("Should throw exception when task not found")
     void testDeleteTask_NotFound() {
         // Arrange
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.findOwnedTaskForUpdate(1L, 1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -232,31 +529,33 @@ class TaskServiceTest {
     }
 
     @Test
-    @DisplayName("Should calculate project progress correctly")
+    @DisplayName("Should calculate project progress from the stored counters")
     void testGetProjectProgress_Success() {
         // Arrange
-        List<Task> tasks = new ArrayList<>();
-        Task completedTask = new Task();
-        completedTask.setIsCompleted(true);
-        completedTask.setProject(testProject);
-
-        Task pendingTask = new Task();
-        pendingTask.setIsCompleted(false);
-        pendingTask.setProject(testProject);
-
-        tasks.add(completedTask);
-        tasks.add(pendingTask);
-
-        when(projectRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectId(1L)).thenReturn(tasks);
+        ProjectTaskCounts counts = mock(ProjectTaskCounts.class);
+        when(counts.getTotalTasks()).thenReturn(2L);
+        when(counts.getCompletedTasks()).thenReturn(1L);
+        when(projectRepository.findTaskCounts(1L, 1L)).thenReturn(Optional.of(counts));
 
         // Act
-        var result = taskService.getProjectProgress(1L, 1L);
+        ProgressDTO result = taskService.getProjectProgress(1L, 1L);
 
         // Assert
         assertNotNull(result);
-        assertEquals(50, result.getProgress());
-        assertEquals(1, result.getCompletedCount());
-        assertEquals(2, result.getTotalCount());
+        assertEquals(50.0, result.getProgressPercentage());
+        assertEquals(1L, result.getCompletedTasks());
+        assertEquals(2L, result.getTotalTasks());
+        verify(taskRepository, never()).countTotalTasks(any());
+    }
+
+    private TaskDTO taskDTO(Long id, LocalDateTime createdAt) {
+        return TaskDTO.builder()
+                .id(id)
+                .title("Test Task")
+                .description("Test Description")
+                .isCompleted(false)
+                .projectId(testProject.getId())
+                .createdAt(createdAt)
+                .build();
     }
 }
@@ -0,0 +1,187 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.repositories.TaskTitle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskTitleSuggester Unit Tests")
+class TaskTitleSuggesterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private TaskTitleSuggester suggester;
+    private List<TaskTitle> titles;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new TaskTitleSuggester(2, Duration.ofMinutes(10), clock::get);
+        titles = new ArrayList<>(List.of(
+                title(1L, "Release notes"),
+                title(2L, "release checklist"),
+                title(3L, "Review budget"),
+                title(4L, "Release notes"),
+                title(5L, "Refactor login")));
+    }
+
+    @Test
+    @DisplayName("Should return distinct titles with the prefix in alphabetical order, ignoring case")
+    void testSuggest_PrefixMatches() {
+        assertEquals(List.of("release checklist", "Release notes"), suggest(1L, "REL", 10));
+        assertEquals(List.of("Refactor login", "release checklist", "Release notes", "Review budget"),
+                suggest(1L, "re", 10));
+        assertEquals(List.of(), suggest(1L, "x", 10));
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void testSuggest_Limit() {
+        assertEquals(List.of("Refactor login", "release checklist"), suggest(1L, "re", 2));
+    }
+
+    @Test
+    @DisplayName("Should load a project once and answer later lookups from memory")
+    void testSuggest_LoadsOnce() {
+        // Act
+        suggest(1L, "re", 10);
+        suggest(1L, "rev", 10);
+
+        // Assert
+        assertEquals(1, suggester.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should apply saved and deleted tasks to a loaded project")
+    void testSuggest_IncrementalUpdates() {
+        // Arrange
+        suggest(1L, "re", 10);
+
+        // Act
+        suggester.taskSaved(1L, 6L, "Retro actions");
+        suggester.taskSaved(1L, 2L, "Checklist for release");
+        suggester.taskDeleted(1L, 3L);
+
+        // Assert
+        assertEquals(List.of("Refactor login", "Release notes", "Retro actions"), suggest(1L, "re", 10));
+        assertEquals(List.of("Checklist for release"), suggest(1L, "check", 10));
+        assertEquals(1, suggester.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should keep a title while another task still has it")
+    void testSuggest_DuplicateTitles() {
+        // Arrange
+        suggest(1L, "re", 10);
+
+        // Act
+        suggester.taskDeleted(1L, 1L);
+
+        // Assert
+        assertEquals(List.of("Release notes"), suggest(1L, "release n", 10));
+    }
+
+    @Test
+    @DisplayName("Should reload a project after the TTL")
+    void testSuggest_Expires() {
+        // Arrange
+        suggest(1L, "re", 10);
+        titles.add(title(7L, "Rename service"));
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        // Act
+        List<String> suggestions = suggest(1L, "ren", 10);
+
+        // Assert
+        assertEquals(List.of("Rename service"), suggestions);
+        assertEquals(2, suggester.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should reload a project after it is invalidated")
+    void testInvalidateProject() {
+        // Arrange
+        suggest(1L, "re", 10);
+
+        // Act
+        suggester.invalidateProject(1L);
+        suggest(1L, "re", 10);
+
+        // Assert
+        assertEquals(2, suggester.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should hold at most the configured number of projects")
+    void testSuggest_Bounded() {
+        // Act
+        for (long projectId = 1; projectId <= 5; projectId++) {
+            suggest(projectId, "re", 10);
+        }
+
+        // Assert
+        assertTrue(suggester.size() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should apply a save that commits while the project is loading")
+    void testSuggest_SaveDuringLoad() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<String>> load = CompletableFuture.supplyAsync(() ->
+                suggester.suggest(1L, "re", 10, () -> {
+                    loading.countDown();
+                    awaitQuietly(release);
+                    return List.copyOf(titles);
+                }));
+        loading.await();
+
+        // Act
+        Thread writer = new Thread(() -> suggester.taskSaved(1L, 6L, "Retro actions"));
+        writer.start();
+        while (writer.getState() == Thread.State.NEW || writer.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        load.join();
+        writer.join();
+
+        // Assert
+        assertEquals(List.of("Retro actions"), suggest(1L, "retro", 10));
+        assertEquals(1, suggester.getLoadCount());
+    }
+
+    private List<String> suggest(Long projectId, String prefix, int limit) {
+        return suggester.suggest(projectId, prefix, limit, () -> List.copyOf(titles));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskTitle title(Long id, String title) {
+        return new TaskTitle() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.BulkProvisionResponse;
+import com.example.taskmanager.dtos.ProvisionUserRequest;
+import com.example.taskmanager.dtos.ProvisionUserResult.Status;
+import com.example.taskmanager.repositories.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserProvisioningService Unit Tests")
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserProvisioningService(userRepository, passwordHashingService, jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+    }
+
+    @Test
+    @DisplayName("Should mark an email repeated within the import as a duplicate")
+    void testProvisionUsers_DuplicateInImport() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("{bcrypt}a"));
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of("a@example.com"));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(List.of(
+                user("a@example.com"), user("a@example.com")));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(Status.DUPLICATE, response.getResults().get(1).getStatus());
+        assertEquals("Email repeated in this import", response.getResults().get(1).getMessage());
+        verify(userRepository).findExistingEmails(List.of("a@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should skip emails that are already registered without hashing or inserting them")
+    void testProvisionUsers_ExistingEmail() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of("a@example.com"));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(List.of(user("a@example.com")));
+
+        // Assert
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+        assertEquals("Email already registered", response.getResults().get(0).getMessage());
+        verify(passwordHashingService, never()).encodeAll(anyList());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should mark invalid rows and still import the rest")
+    void testProvisionUsers_InvalidRows() {
+        // Arrange
+        ProvisionUserRequest noPassword = ProvisionUserRequest.builder().email("b@example.com").build();
+        ProvisionUserRequest badEmail = user("not-an-email");
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("{bcrypt}a"));
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of("a@example.com"));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(List.of(
+                user("a@example.com"), noPassword, badEmail));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getInvalid());
+        assertEquals("Either password or passwordHash is required", response.getResults().get(1).getMessage());
+        assertEquals("Email should be valid", response.getResults().get(2).getMessage());
+        verify(passwordHashingService).encodeAll(List.of("password123"));
+    }
+
+    @Test
+    @DisplayName("Should mark a password longer than 72 bytes invalid instead of failing the import")
+    void testProvisionUsers_PasswordTooLong() {
+        // Arrange
+        ProvisionUserRequest tooLong = user("a@example.com");
+        // 37 characters, but 74 bytes in UTF-8
+        tooLong.setPassword("\u00e9".repeat(37));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(List.of(tooLong));
+
+        // Assert
+        assertEquals(1, response.getInvalid());
+        assertEquals("Password must not exceed 72 bytes", response.getResults().get(0).getMessage());
+        verifyNoInteractions(passwordHashingService, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should report rows skipped by ON CONFLICT as duplicates, not created")
+    void testProvisionUsers_ConcurrentConflict() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("{bcrypt}a", "{bcrypt}b"));
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of("a@example.com"));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(List.of(
+                user("a@example.com"), user("b@example.com")));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(Status.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(Status.DUPLICATE, response.getResults().get(1).getStatus());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(PreparedStatementSetter.class), any(RowMapper.class));
+        assertTrue(sql.getValue().endsWith("ON CONFLICT (email) DO NOTHING RETURNING email"));
+    }
+
+    @Test
+    @DisplayName("Should split large chunks into several multi-row inserts")
+    void testProvisionUsers_SplitsInserts() {
+        // Arrange
+        int rows = UserProvisioningService.ROWS_PER_INSERT + 1;
+        List<ProvisionUserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            requests.add(ProvisionUserRequest.builder()
+                    .email("user" + i + "@example.com")
+                    .passwordHash("$2a$10$" + "a".repeat(53))
+                    .build());
+        }
+        ReflectionTestUtils.setField(service, "chunkSize", rows);
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of());
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(requests.subList(0, rows - 1).stream().map(ProvisionUserRequest::getEmail).toList())
+                .thenReturn(List.of("user" + (rows - 1) + "@example.com"));
+
+        // Act
+        BulkProvisionResponse response = service.provisionUsers(requests);
+
+        // Assert
+        assertEquals(rows, response.getCreated());
+        verify(jdbcTemplate, times(2)).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    private static ProvisionUserRequest user(String email) {
+        return ProvisionUserRequest.builder()
+                .email(email)
+                .fullName("User")
+                .password("password123")
+                .build();
+    }
+}
@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the optional db-replica service stream WAL from this instance (runs on a fresh volume only)
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"